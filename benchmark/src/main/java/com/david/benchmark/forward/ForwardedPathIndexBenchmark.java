@@ -0,0 +1,64 @@
+package com.david.benchmark.forward;
+
+import com.david.core.forward.ForwardedPathIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** 放行路径判断：{@link ForwardedPathIndex} 与逐条 {@link AntPathMatcher} 匹配的对比。 */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForwardedPathIndexBenchmark {
+
+    @Param({"/actuator/health", "/api/auth/login", "/api/orders/42/items"})
+    public String path;
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private List<String> patterns;
+    private ForwardedPathIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        patterns = new ArrayList<>(ForwardedPathIndex.defaultWhiteListPaths());
+        patterns.add("/actuator/health");
+        patterns.add("/actuator/health/**");
+        patterns.add("/actuator/info");
+        patterns.add("/api/public/*/avatar");
+        patterns.add("/static/**");
+        index = ForwardedPathIndex.of(patterns);
+    }
+
+    @Benchmark
+    public boolean pathIndex() {
+        return index.matches(path);
+    }
+
+    @Benchmark
+    public boolean antPathMatcher() {
+        for (String pattern : patterns) {
+            if (antPathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
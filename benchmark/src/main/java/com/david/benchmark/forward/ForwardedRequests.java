@@ -0,0 +1,48 @@
+package com.david.benchmark.forward;
+
+import com.david.core.forward.ForwardedUserHeaders;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+/** 构造基准测试使用的转发请求，保证各用例的请求头内容一致。 */
+final class ForwardedRequests {
+
+    static final String USER_ID = "1024";
+    static final String USER_NAME = "benchmark-user";
+    static final byte[] IDENTITY_SECRET =
+            "benchmark-identity-secret-0123456789".getBytes(StandardCharsets.UTF_8);
+
+    private ForwardedRequests() {}
+
+    static String roles(int roleCount) {
+        StringJoiner joiner = new StringJoiner(ForwardedUserHeaders.ROLE_DELIMITER);
+        for (int i = 0; i < roleCount; i++) {
+            joiner.add("ROLE_" + i);
+        }
+        return joiner.toString();
+    }
+
+    static MockHttpServletRequest servletRequest(int roleCount) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/problems");
+        request.addHeader(ForwardedUserHeaders.USER_ID, USER_ID);
+        request.addHeader(ForwardedUserHeaders.USER_NAME, USER_NAME);
+        request.addHeader(ForwardedUserHeaders.USER_ROLES, roles(roleCount));
+        return request;
+    }
+
+    static MockHttpServletRequest anonymousServletRequest() {
+        return new MockHttpServletRequest("GET", "/api/problems");
+    }
+
+    static HttpHeaders httpHeaders(int roleCount) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(ForwardedUserHeaders.USER_ID, USER_ID);
+        headers.add(ForwardedUserHeaders.USER_NAME, USER_NAME);
+        headers.add(ForwardedUserHeaders.USER_ROLES, roles(roleCount));
+        return headers;
+    }
+}
@@ -0,0 +1,124 @@
+package com.david.benchmark.forward;
+
+import com.david.core.forward.ForwardedAuthenticationToken;
+import com.david.core.forward.ForwardedAuthoritiesCache;
+import com.david.core.forward.ForwardedUser;
+import com.david.core.forward.ForwardedUserContextFilter;
+import com.david.core.forward.ForwardedUserHeaders;
+import com.david.core.forward.ForwardedUserParser;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 经由 {@code OncePerRequestFilter#doFilter} 执行 {@link ForwardedUserContextFilter} 的完整路径，
+ * 与容器中每个请求实际经历的调用一致。
+ *
+ * <ul>
+ *   <li>{@code withoutHeaders}：请求未携带任何转发身份；
+ *   <li>{@code firstRequest}：安全上下文为空，需要构造新的认证信息；
+ *   <li>{@code repeatRequest}：上下文中已有同一用户的认证信息，过滤器判定无需刷新。
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForwardedUserContextFilterBenchmark {
+
+    @State(Scope.Thread)
+    public static class Forwarded {
+
+        @Param({"1", "10", "50"})
+        public int roleCount;
+
+        ForwardedUserContextFilter filter;
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        ForwardedAuthenticationToken existing;
+        FilterChain chain;
+        Authentication observed;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ForwardedAuthoritiesCache authoritiesCache = new ForwardedAuthoritiesCache();
+            filter = new ForwardedUserContextFilter(authoritiesCache);
+            chain = (req, res) -> observed = SecurityContextHolder.getContext().getAuthentication();
+            request = ForwardedRequests.servletRequest(roleCount);
+            response = new MockHttpServletResponse();
+            ForwardedUser user = ForwardedUserParser.parse(request);
+            existing =
+                    new ForwardedAuthenticationToken(
+                            user,
+                            authoritiesCache.get(
+                                    request.getHeader(ForwardedUserHeaders.USER_ROLES),
+                                    user.roles()));
+        }
+
+        @TearDown(Level.Iteration)
+        public void clearContext() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Anonymous {
+
+        ForwardedUserContextFilter filter;
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        FilterChain chain;
+        Authentication observed;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            filter = new ForwardedUserContextFilter();
+            chain = (req, res) -> observed = SecurityContextHolder.getContext().getAuthentication();
+            request = ForwardedRequests.anonymousServletRequest();
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public Authentication withoutHeaders(Anonymous state) throws ServletException, IOException {
+        state.filter.doFilter(state.request, state.response, state.chain);
+        return state.observed;
+    }
+
+    @Benchmark
+    public Authentication firstRequest(Forwarded state) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        state.filter.doFilter(state.request, state.response, state.chain);
+        return state.observed;
+    }
+
+    /** 过滤器在 finally 中会清理上下文，因此每次调用前重新放入同一份认证信息，模拟线程上残留的同用户上下文。 */
+    @Benchmark
+    public Authentication repeatRequest(Forwarded state) throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(state.existing);
+        state.filter.doFilter(state.request, state.response, state.chain);
+        return state.observed;
+    }
+}
@@ -0,0 +1,105 @@
+package com.david.benchmark.forward;
+
+import com.david.core.forward.ForwardedIdentityCodec;
+import com.david.core.forward.ForwardedUser;
+import com.david.core.forward.ForwardedUserHeaders;
+import com.david.core.forward.ForwardedUserParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/** {@link ForwardedUserParser} 各入口的解析开销，{@code parse*} 为不经 {@link Optional} 包装的热路径。 */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ForwardedUserParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Forwarded {
+
+        @Param({"1", "10", "50"})
+        public int roleCount;
+
+        MockHttpServletRequest request;
+        HttpHeaders headers;
+        ForwardedIdentityCodec identityCodec;
+        MockHttpServletRequest signedRequest;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            request = ForwardedRequests.servletRequest(roleCount);
+            headers = ForwardedRequests.httpHeaders(roleCount);
+            identityCodec = new ForwardedIdentityCodec(ForwardedRequests.IDENTITY_SECRET);
+            signedRequest = ForwardedRequests.anonymousServletRequest();
+            signedRequest.addHeader(
+                    ForwardedUserHeaders.USER_IDENTITY,
+                    identityCodec.encode(ForwardedUserParser.parse(request)));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Anonymous {
+
+        MockHttpServletRequest request;
+        HttpHeaders headers;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            request = ForwardedRequests.anonymousServletRequest();
+            headers = new HttpHeaders();
+        }
+    }
+
+    @Benchmark
+    public Optional<ForwardedUser> servletRequest(Forwarded state) {
+        return ForwardedUserParser.from(state.request);
+    }
+
+    @Benchmark
+    public Optional<ForwardedUser> httpHeaders(Forwarded state) {
+        return ForwardedUserParser.from(state.headers);
+    }
+
+    @Benchmark
+    public ForwardedUser parseServletRequest(Forwarded state) {
+        return ForwardedUserParser.parse(state.request);
+    }
+
+    @Benchmark
+    public ForwardedUser parseHttpHeaders(Forwarded state) {
+        return ForwardedUserParser.parse(state.headers);
+    }
+
+    /** 同一令牌重复出现，命中验签缓存。 */
+    @Benchmark
+    public ForwardedUser parseSignedIdentity(Forwarded state) {
+        return ForwardedUserParser.parse(state.signedRequest, state.identityCodec);
+    }
+
+    @Benchmark
+    public Optional<ForwardedUser> servletRequestWithoutHeaders(Anonymous state) {
+        return ForwardedUserParser.from(state.request);
+    }
+
+    @Benchmark
+    public Optional<ForwardedUser> httpHeadersWithoutHeaders(Anonymous state) {
+        return ForwardedUserParser.from(state.headers);
+    }
+}
@@ -0,0 +1,126 @@
+package com.david.benchmark.http;
+
+import com.david.core.http.ApiResponse;
+import com.david.core.http.jackson.ApiJacksonModule;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统一返回结构在 JSON、Smile、CBOR 三种编码下的编码与解码开销，以及 {@code payloadBytes} 报告的响应体大小。
+ *
+ * <p>三种编码使用相同的 {@link ApiJacksonModule} 配置，与服务实际输出一致。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseCodecBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Row>>> RESPONSE_TYPE =
+            new TypeReference<>() {};
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"10", "1000"})
+    public int rows;
+
+    private ApiResponse<List<Row>> response;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper mapper =
+                new ObjectMapper(factory(format))
+                        .registerModule(new JavaTimeModule())
+                        .registerModule(new ApiJacksonModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = mapper.writerFor(RESPONSE_TYPE);
+        reader = mapper.readerFor(RESPONSE_TYPE);
+
+        List<Row> data = new ArrayList<>(rows);
+        OffsetDateTime createdAt = OffsetDateTime.of(2024, 1, 1, 8, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < rows; i++) {
+            data.add(
+                    new Row(
+                            100_000L + i,
+                            "problem-" + i,
+                            i % 3 == 0 ? "EASY" : "MEDIUM",
+                            BigDecimal.valueOf(i * 7L, 2),
+                            createdAt.plusMinutes(i),
+                            List.of("array", "hash-table", "two-pointers")));
+        }
+        response = ApiResponse.success(data, Map.of("page", 1, "size", rows));
+        encoded = writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) throws IOException {
+        byte[] bytes = writer.writeValueAsBytes(response);
+        payloadSize.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public ApiResponse<List<Row>> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+    }
+
+    /** 以辅助计数器输出每次编码的字节数，与耗时一并列在结果中。 */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+    }
+
+    public record Row(
+            long id,
+            String title,
+            String difficulty,
+            BigDecimal acceptanceRate,
+            OffsetDateTime createdAt,
+            List<String> tags) {}
+}
@@ -0,0 +1,216 @@
+package com.david.benchmark.mybatis;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.david.core.mybatis.BatchMapper;
+import com.david.core.mybatis.BatchSqlInjector;
+import com.david.core.mybatis.BatchWriter;
+
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量写入在嵌入式 H2（MySQL 兼容模式）上的耗时对比：
+ *
+ * <ul>
+ *   <li>{@code rowByRow}：{@code BATCH} 执行器逐行 {@code insert}，即 MyBatis-Plus {@code saveBatch} 的做法；
+ *   <li>{@code insertBatch}：{@link BatchWriter} 分块的多行 {@code INSERT}；
+ *   <li>{@code upsertBatchInsert}、{@code upsertBatchUpdate}：分块的 {@code ON DUPLICATE KEY UPDATE}，分别写入空表与全部冲突的表。
+ * </ul>
+ *
+ * <p>H2 在进程内执行，没有网络往返，结果主要反映语句数量与解析开销；MySQL 上多行语句的收益会更明显。
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar BatchInsertBenchmark -p rows=100000 -p chunkSize=1000
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:batch;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"500", "2000"})
+    public int chunkSize;
+
+    private PooledDataSource dataSource;
+    private SqlSessionFactory sqlSessionFactory;
+    private BatchWriter batchWriter;
+    private List<BenchRow> data;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = new PooledDataSource("org.h2.Driver", URL, "sa", "");
+        execute(
+                "CREATE TABLE IF NOT EXISTS bench_row (id BIGINT PRIMARY KEY, title VARCHAR(128),"
+                        + " score INT, created_at TIMESTAMP)");
+
+        MybatisConfiguration configuration =
+                new MybatisConfiguration(
+                        new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(configuration);
+        globalConfig.setBanner(false);
+        globalConfig.setSqlInjector(new BatchSqlInjector(DbType.MYSQL));
+        configuration.addMapper(BenchRowMapper.class);
+        sqlSessionFactory = new MybatisSqlSessionFactoryBuilder().build(configuration);
+        batchWriter = new BatchWriter(sqlSessionFactory, chunkSize, 4L * 1024 * 1024, 16);
+
+        data = new ArrayList<>(rows);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 8, 0);
+        for (int i = 0; i < rows; i++) {
+            data.add(new BenchRow(i + 1L, "problem-" + i, i % 100, createdAt.plusSeconds(i)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        execute("TRUNCATE TABLE bench_row");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        execute("DROP TABLE bench_row");
+        dataSource.forceCloseAll();
+    }
+
+    @Benchmark
+    public int rowByRow() {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            BenchRowMapper mapper = session.getMapper(BenchRowMapper.class);
+            int count = 0;
+            for (BenchRow row : data) {
+                mapper.insert(row);
+                if (++count % chunkSize == 0) {
+                    session.flushStatements();
+                }
+            }
+            session.flushStatements();
+            session.commit();
+            return count;
+        }
+    }
+
+    @Benchmark
+    public int insertBatch() {
+        return batchWriter.insertBatch(BenchRowMapper.class, data);
+    }
+
+    @Benchmark
+    public int upsertBatchInsert() {
+        return batchWriter.upsertBatch(BenchRowMapper.class, data);
+    }
+
+    @Benchmark
+    public int upsertBatchUpdate(Populated populated) {
+        return batchWriter.upsertBatch(BenchRowMapper.class, data);
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /** 在清空表之后写入全部数据，使 upsert 的每一行都命中主键冲突。 */
+    @State(Scope.Benchmark)
+    public static class Populated {
+
+        @Setup(Level.Invocation)
+        public void populate(BatchInsertBenchmark benchmark) {
+            benchmark.batchWriter.insertBatch(BenchRowMapper.class, benchmark.data);
+        }
+    }
+
+    public interface BenchRowMapper extends BatchMapper<BenchRow> {}
+
+    @TableName("bench_row")
+    public static class BenchRow {
+
+        @TableId(type = IdType.INPUT)
+        private Long id;
+
+        private String title;
+        private Integer score;
+        private LocalDateTime createdAt;
+
+        public BenchRow() {}
+
+        BenchRow(Long id, String title, Integer score, LocalDateTime createdAt) {
+            this.id = id;
+            this.title = title;
+            this.score = score;
+            this.createdAt = createdAt;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public Integer getScore() {
+            return score;
+        }
+
+        public void setScore(Integer score) {
+            this.score = score;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(LocalDateTime createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
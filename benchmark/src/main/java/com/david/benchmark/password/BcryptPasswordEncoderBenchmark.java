@@ -0,0 +1,81 @@
+package com.david.benchmark.password;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code BCRYPT} 各强度下的编码与校验开销，用于估算认证服务的单实例容量。
+ *
+ * <ul>
+ *   <li>{@code *Latency}：单线程平均耗时，即一次登录在编码器上花费的时间；
+ *   <li>{@code *Throughput}：所有核心同时哈希时的总吞吐量，需要其他并发度时以 {@code -t} 覆盖。
+ * </ul>
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar BcryptPasswordEncoder -p strength=12 -t 4
+ * </pre>
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BcryptPasswordEncoderBenchmark {
+
+    @Param({"10", "11", "12", "13", "14"})
+    public int strength;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = PasswordEncoders.create(PasswordEncoders.bcrypt(strength));
+        encoded = encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public String encodeLatency() {
+        return encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public boolean matchesLatency() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, encoded);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public String encodeThroughput() {
+        return encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public boolean matchesThroughput() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, encoded);
+    }
+}
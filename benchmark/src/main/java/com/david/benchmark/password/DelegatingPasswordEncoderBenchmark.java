@@ -0,0 +1,108 @@
+package com.david.benchmark.password;
+
+import com.david.core.password.config.PasswordProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code DELEGATING} 下的编码与校验开销，其余参数取默认配置。
+ *
+ * <ul>
+ *   <li>{@code matches*}：带 {@code {id}} 前缀的哈希；
+ *   <li>{@code matchesLegacy*}：迁移前遗留的无前缀哈希，经 {@code setDefaultPasswordEncoderForMatches}
+ *       交给默认算法校验。
+ * </ul>
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DelegatingPasswordEncoderBenchmark {
+
+    @Param({"bcrypt", "pbkdf2"})
+    public String delegatingId;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+    private String legacyEncoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordProperties properties = PasswordEncoders.delegating(delegatingId);
+        encoder = PasswordEncoders.create(properties);
+        encoded = encoder.encode(PasswordEncoders.RAW_PASSWORD);
+
+        // 以同一配置直接使用默认算法编码，得到不带前缀的旧哈希
+        properties.setAlgorithm(
+                "pbkdf2".equals(delegatingId)
+                        ? PasswordProperties.Algorithm.PBKDF2
+                        : PasswordProperties.Algorithm.BCRYPT);
+        legacyEncoded = PasswordEncoders.create(properties).encode(PasswordEncoders.RAW_PASSWORD);
+        if (!encoder.matches(PasswordEncoders.RAW_PASSWORD, legacyEncoded)) {
+            throw new IllegalStateException("无前缀哈希未能通过默认算法校验: " + delegatingId);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public String encodeLatency() {
+        return encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public boolean matchesLatency() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, encoded);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public boolean matchesLegacyLatency() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, legacyEncoded);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public String encodeThroughput() {
+        return encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public boolean matchesThroughput() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, encoded);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public boolean matchesLegacyThroughput() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, legacyEncoded);
+    }
+}
@@ -0,0 +1,53 @@
+package com.david.benchmark.password;
+
+import com.david.core.password.config.PasswordAutoConfiguration;
+import com.david.core.password.config.PasswordCalibration;
+import com.david.core.password.config.PasswordProperties;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 经由 {@link PasswordAutoConfiguration} 构造编码器，保证基准测试与应用中实际装配的编码器完全一致。
+ *
+ * <p>不注册 {@link PasswordCalibration}，强度与迭代次数均取自传入的配置，结果不受启动校准影响。
+ */
+final class PasswordEncoders {
+
+    static final String RAW_PASSWORD = "benchmark-Passw0rd!";
+
+    private static final PasswordAutoConfiguration AUTO_CONFIGURATION =
+            new PasswordAutoConfiguration();
+
+    private static final ObjectProvider<PasswordCalibration> NO_CALIBRATION =
+            new StaticListableBeanFactory().getBeanProvider(PasswordCalibration.class);
+
+    private PasswordEncoders() {}
+
+    static PasswordEncoder create(PasswordProperties properties) {
+        return AUTO_CONFIGURATION.passwordEncoder(properties, NO_CALIBRATION);
+    }
+
+    static PasswordProperties bcrypt(int strength) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setAlgorithm(PasswordProperties.Algorithm.BCRYPT);
+        properties.setBcryptStrength(strength);
+        return properties;
+    }
+
+    static PasswordProperties pbkdf2(String algorithm, int iterations) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setAlgorithm(PasswordProperties.Algorithm.PBKDF2);
+        properties.setPbkdf2Algorithm(algorithm);
+        properties.setPbkdf2Iterations(iterations);
+        return properties;
+    }
+
+    static PasswordProperties delegating(String delegatingId) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setAlgorithm(PasswordProperties.Algorithm.DELEGATING);
+        properties.setDelegatingId(delegatingId);
+        return properties;
+    }
+}
@@ -0,0 +1,78 @@
+package com.david.benchmark.password;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code PBKDF2} 在各 {@code SecretKeyFactory} 算法与迭代次数下的编码与校验开销，测量方式同 {@link
+ * BcryptPasswordEncoderBenchmark}。
+ *
+ * <p>迭代次数不写入哈希，调整前应先以此确认新参数的耗时。
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Pbkdf2PasswordEncoderBenchmark {
+
+    @Param({"PBKDF2WithHmacSHA1", "PBKDF2WithHmacSHA256", "PBKDF2WithHmacSHA512"})
+    public String algorithm;
+
+    @Param({"100000", "310000", "600000"})
+    public int iterations;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = PasswordEncoders.create(PasswordEncoders.pbkdf2(algorithm, iterations));
+        encoded = encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public String encodeLatency() {
+        return encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Threads(1)
+    public boolean matchesLatency() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, encoded);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public String encodeThroughput() {
+        return encoder.encode(PasswordEncoders.RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(Threads.MAX)
+    public boolean matchesThroughput() {
+        return encoder.matches(PasswordEncoders.RAW_PASSWORD, encoded);
+    }
+}
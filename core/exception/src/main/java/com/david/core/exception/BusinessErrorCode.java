@@ -0,0 +1,18 @@
+package com.david.core.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 错误码目录中的一项。实现通常为枚举，并以 {@link BusinessException#prebuilt(BusinessErrorCode)}
+ * 为每个无参数的错误保存一个可重复抛出的实例，参考 {@link CommonErrorCode}。
+ */
+public interface BusinessErrorCode {
+
+    HttpStatus status();
+
+    /** 返回给客户端的错误码。 */
+    String code();
+
+    /** 默认提示信息。 */
+    String message();
+}
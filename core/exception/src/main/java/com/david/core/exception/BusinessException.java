@@ -1,14 +1,75 @@
 package com.david.core.exception;
 
+import com.david.core.http.ApiError;
+
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+/**
+ * 业务异常，由 {@link GlobalExceptionHandler} 转换为对应状态码的统一返回结构。
+ *
+ * <p>高频出现的 4xx 流程（参数校验、资源不存在、冲突等）不需要堆栈：{@link #stackless} 创建不采集堆栈的实例，
+ * {@link #prebuilt} 创建可在多线程间共享、重复抛出的实例，其 {@link ApiError} 也只构建一次。
+ */
 @Getter
 public class BusinessException extends RuntimeException {
     private final HttpStatus status;
+    private final String code;
+
+    /** 仅预构建实例持有，其余实例在 {@link #toApiError()} 时构建。 */
+    @Getter(AccessLevel.NONE)
+    private final ApiError apiError;
 
     public BusinessException(HttpStatus status, String message) {
+        this(status, status.name(), message);
+    }
+
+    public BusinessException(HttpStatus status, String code, String message) {
         super(message);
         this.status = status;
+        this.code = code;
+        this.apiError = null;
+    }
+
+    /** 不支持 suppressed 异常与 cause 的修改；{@code writableStackTrace} 为 {@code false} 时不采集堆栈。 */
+    protected BusinessException(
+            HttpStatus status,
+            String code,
+            String message,
+            boolean writableStackTrace,
+            boolean prebuilt) {
+        super(message, null, false, writableStackTrace);
+        this.status = status;
+        this.code = code;
+        this.apiError = prebuilt ? ApiError.of(status.value(), code, message) : null;
+    }
+
+    /** 不采集堆栈的业务异常，适用于高频且无需定位代码位置的错误。 */
+    public static BusinessException stackless(HttpStatus status, String message) {
+        return new BusinessException(status, status.name(), message, false, false);
+    }
+
+    /** 见 {@link #stackless(HttpStatus, String)}，错误码与提示信息取自 {@code errorCode}。 */
+    public static BusinessException stackless(BusinessErrorCode errorCode, String message) {
+        return new BusinessException(errorCode.status(), errorCode.code(), message, false, false);
+    }
+
+    /**
+     * 可共享、重复抛出的预构建实例：不采集堆栈，不记录 suppressed 异常，cause 固定为 {@code null}，
+     * 对应的 {@link ApiError} 也预先构建。应保存为常量复用，而不是每次调用创建。
+     */
+    public static BusinessException prebuilt(BusinessErrorCode errorCode) {
+        return new BusinessException(
+                errorCode.status(), errorCode.code(), errorCode.message(), false, true);
+    }
+
+    /** 见 {@link #prebuilt(BusinessErrorCode)}。 */
+    public static BusinessException prebuilt(HttpStatus status, String message) {
+        return new BusinessException(status, status.name(), message, false, true);
+    }
+
+    public ApiError toApiError() {
+        return apiError != null ? apiError : ApiError.of(status.value(), code, getMessage());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.david.core.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 常用的无参数业务错误，每项持有一个预构建的 {@link BusinessException}，可直接抛出：
+ *
+ * <pre>
+ * throw CommonErrorCode.NOT_FOUND.exception();
+ * </pre>
+ *
+ * 需要自定义提示信息时使用 {@link #exception(String)}，每次创建不采集堆栈的新实例。
+ */
+public enum CommonErrorCode implements BusinessErrorCode {
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "请求参数错误"),
+    UNAUTHORIZED(HttpStatus.UNAUTHORIZED, "未登录或登录已过期"),
+    FORBIDDEN(HttpStatus.FORBIDDEN, "没有访问权限"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "资源不存在"),
+    CONFLICT(HttpStatus.CONFLICT, "资源状态冲突，请刷新后重试"),
+    UNPROCESSABLE_ENTITY(HttpStatus.UNPROCESSABLE_ENTITY, "请求无法处理"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "请求过于频繁，请稍后重试"),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "服务繁忙，请稍后重试");
+
+    private final HttpStatus status;
+    private final String message;
+    private final BusinessException exception;
+
+    CommonErrorCode(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = BusinessException.prebuilt(this);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return status;
+    }
+
+    @Override
+    public String code() {
+        return name();
+    }
+
+    @Override
+    public String message() {
+        return message;
+    }
+
+    /** 预构建的共享实例。 */
+    public BusinessException exception() {
+        return exception;
+    }
+
+    /** 使用自定义提示信息的新实例，不采集堆栈。 */
+    public BusinessException exception(String message) {
+        return BusinessException.stackless(this, message);
+    }
+}
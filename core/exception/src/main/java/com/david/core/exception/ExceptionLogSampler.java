@@ -0,0 +1,127 @@
+package com.david.core.exception;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异常日志去重：同类异常首次出现时输出完整日志，之后只计数，每个周期输出一条汇总。
+ *
+ * <p>同类指处理器、异常类型以及细分标识（业务异常取错误码，其余取抛出位置）均相同。某类异常在一个周期内没有再出现时
+ * 移除其记录，再次出现时重新输出完整日志。记录数量达到 {@link #MAX_KEYS} 后，新出现的类型只计入"其他异常"的汇总。
+ */
+public final class ExceptionLogSampler implements AutoCloseable {
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    static final int MAX_KEYS = 1024;
+
+    private final Logger logger;
+    private final Duration interval;
+    private final ConcurrentHashMap<SampleKey, Suppressed> suppressed = new ConcurrentHashMap<>();
+    private final LongAdder overflow = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param logger   输出汇总日志使用的 Logger，通常与完整日志相同
+     * @param interval 汇总周期
+     */
+    public ExceptionLogSampler(Logger logger, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval 必须大于 0: " + interval);
+        }
+        this.logger = logger;
+        this.interval = interval;
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "exception-log-summary");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        long periodNanos = interval.toNanos();
+        scheduler.scheduleAtFixedRate(this::flush, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 返回 {@code true} 表示这是该类异常在当前记录中的首次出现，调用方应输出完整日志；否则已计入汇总。
+     *
+     * @param error 汇总日志是否使用 ERROR 级别，否则为 WARN
+     */
+    boolean shouldLog(String handler, Throwable ex, boolean error) {
+        SampleKey key = new SampleKey(handler, ex.getClass(), detail(ex));
+        Suppressed existing = suppressed.get(key);
+        if (existing != null) {
+            existing.count().increment();
+            return false;
+        }
+        if (suppressed.size() >= MAX_KEYS) {
+            overflow.increment();
+            return false;
+        }
+        existing = suppressed.putIfAbsent(key, new Suppressed(new LongAdder(), error));
+        if (existing != null) {
+            existing.count().increment();
+            return false;
+        }
+        return true;
+    }
+
+    /** 输出并清零当前周期的汇总，周期内未再出现的异常类型移除记录。 */
+    void flush() {
+        for (Map.Entry<SampleKey, Suppressed> entry : suppressed.entrySet()) {
+            Suppressed value = entry.getValue();
+            long count = value.count().sumThenReset();
+            if (count == 0) {
+                suppressed.remove(entry.getKey(), value);
+                continue;
+            }
+            SampleKey key = entry.getKey();
+            if (value.error()) {
+                logger.error(
+                        "最近 {} 内另有 {} 次 {}（{}，{}）未记录日志",
+                        interval,
+                        count,
+                        key.exceptionType().getName(),
+                        key.handler(),
+                        key.detail());
+            } else {
+                logger.warn(
+                        "最近 {} 内另有 {} 次 {}（{}，{}）未记录日志",
+                        interval,
+                        count,
+                        key.exceptionType().getName(),
+                        key.handler(),
+                        key.detail());
+            }
+        }
+        long others = overflow.sumThenReset();
+        if (others > 0) {
+            logger.warn("最近 {} 内另有 {} 次其他异常因类型过多未记录日志", interval, others);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    private static String detail(Throwable ex) {
+        if (ex instanceof BusinessException businessException) {
+            return businessException.getCode();
+        }
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        return stackTrace.length > 0 ? stackTrace[0].toString() : "";
+    }
+
+    private record SampleKey(String handler, Class<?> exceptionType, String detail) {}
+
+    private record Suppressed(LongAdder count, boolean error) {}
+}
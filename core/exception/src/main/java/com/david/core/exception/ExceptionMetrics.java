@@ -0,0 +1,47 @@
+package com.david.core.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link GlobalExceptionHandler} 的计数指标：{@code exceptions.handled{handler, exception, status}}。
+ *
+ * <p>标签组合取决于代码中的异常类型，数量有限，计数器按组合缓存，重复出现的异常不再构建标签。
+ */
+public final class ExceptionMetrics implements MeterBinder {
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final ConcurrentHashMap<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    void increment(String handler, Class<? extends Throwable> exceptionType, int status) {
+        CounterKey key = new CounterKey(handler, exceptionType, status);
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, this::register);
+        }
+        counter.increment();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    private Counter register(CounterKey key) {
+        return Counter.builder("exceptions.handled")
+                .description("全局异常处理器处理的异常数")
+                .tag("handler", key.handler())
+                .tag("exception", key.exceptionType().getName())
+                .tag("status", Integer.toString(key.status()))
+                .register(registry);
+    }
+
+    private record CounterKey(
+            String handler, Class<? extends Throwable> exceptionType, int status) {}
+}
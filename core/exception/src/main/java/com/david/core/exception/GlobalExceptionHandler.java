@@ -5,9 +5,14 @@ import com.david.core.http.ApiResponse;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
@@ -21,13 +26,34 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * 将异常转换为统一返回结构。
+ *
+ * <p>每次处理计入 {@link ExceptionMetrics}；业务异常与未捕获异常的日志经 {@link ExceptionLogSampler} 去重，
+ * 同类异常只输出首次的完整日志，其余按周期汇总为一条。
+ */
 @Slf4j
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler implements MeterBinder, DisposableBean {
+
+    private final ExceptionMetrics metrics;
+    private final ExceptionLogSampler logSampler;
+
+    public GlobalExceptionHandler() {
+        this(
+                new ExceptionMetrics(),
+                new ExceptionLogSampler(log, ExceptionLogSampler.DEFAULT_INTERVAL));
+    }
+
+    public GlobalExceptionHandler(ExceptionMetrics metrics, ExceptionLogSampler logSampler) {
+        this.metrics = metrics;
+        this.logSampler = logSampler;
+    }
 
     @ExceptionHandler(MissingRequestHeaderException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiResponse<Void> handleMissingRequestHeader(MissingRequestHeaderException ex) {
+        metrics.increment("missing_header", ex.getClass(), HttpStatus.BAD_REQUEST.value());
         String header = ex.getHeaderName();
         return ApiResponse.failure(
                 ApiError.of(HttpStatus.BAD_REQUEST.value(), "BAD_REQUEST", "缺少必填请求头: " + header));
@@ -37,16 +63,18 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> handleBusinessException(
             BusinessException ex, HttpServletResponse response) {
         response.setStatus(ex.getStatus().value());
-        log.warn("业务异常: {}", ex.getMessage());
-        ApiError error =
-                ApiError.of(ex.getStatus().value(), ex.getStatus().name(), ex.getMessage());
-        return ApiResponse.failure(error);
+        metrics.increment("business", ex.getClass(), ex.getStatus().value());
+        if (log.isWarnEnabled() && logSampler.shouldLog("business", ex, false)) {
+            log.warn("业务异常: {}", ex.getMessage());
+        }
+        return ApiResponse.failure(ex.toApiError());
     }
 
     @ExceptionHandler(BadCredentialsException.class)
     public ApiResponse<Void> handleBadCredentials(
             BadCredentialsException ex, HttpServletResponse response) {
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        metrics.increment("bad_credentials", ex.getClass(), HttpStatus.UNAUTHORIZED.value());
         ApiError error =
                 ApiError.of(
                         HttpStatus.UNAUTHORIZED.value(),
@@ -59,6 +87,7 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> handleAuthenticationException(
             AuthenticationException ex, HttpServletResponse response) {
         response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        metrics.increment("authentication", ex.getClass(), HttpStatus.UNAUTHORIZED.value());
         ApiError error =
                 ApiError.of(
                         HttpStatus.UNAUTHORIZED.value(),
@@ -71,6 +100,7 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> handleAccessDeniedException(
             AccessDeniedException ex, HttpServletResponse response) {
         response.setStatus(HttpStatus.FORBIDDEN.value());
+        metrics.increment("access_denied", ex.getClass(), HttpStatus.FORBIDDEN.value());
         ApiError error =
                 ApiError.of(
                         HttpStatus.FORBIDDEN.value(), HttpStatus.FORBIDDEN.name(), ex.getMessage());
@@ -81,6 +111,7 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> handleValidationException(
             MethodArgumentNotValidException ex, HttpServletResponse response) {
         response.setStatus(HttpStatus.BAD_REQUEST.value());
+        metrics.increment("validation", ex.getClass(), HttpStatus.BAD_REQUEST.value());
         Map<String, Object> details = new HashMap<>();
         for (FieldError fieldError : ex.getBindingResult().getFieldErrors()) {
             details.put(fieldError.getField(), fieldError.getDefaultMessage());
@@ -98,6 +129,7 @@ public class GlobalExceptionHandler {
     public ApiResponse<Void> handleConstraintViolation(
             ConstraintViolationException ex, HttpServletResponse response) {
         response.setStatus(HttpStatus.BAD_REQUEST.value());
+        metrics.increment("constraint_violation", ex.getClass(), HttpStatus.BAD_REQUEST.value());
         ApiError error =
                 ApiError.of(
                         HttpStatus.BAD_REQUEST.value(),
@@ -108,7 +140,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ApiResponse<Void> handleGenericException(Exception ex, HttpServletResponse response) {
-        log.error("未捕获异常", ex);
+        metrics.increment("generic", ex.getClass(), HttpStatus.INTERNAL_SERVER_ERROR.value());
+        if (logSampler.shouldLog("generic", ex, true)) {
+            log.error("未捕获异常", ex);
+        }
         response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
         ApiError error =
                 ApiError.of(
@@ -117,4 +152,14 @@ public class GlobalExceptionHandler {
                         "系统繁忙，请稍后重试");
         return ApiResponse.failure(error);
     }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        metrics.bindTo(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        logSampler.close();
+    }
 }
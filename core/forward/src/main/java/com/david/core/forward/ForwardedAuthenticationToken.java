@@ -16,6 +16,12 @@ public class ForwardedAuthenticationToken extends AbstractAuthenticationToken {
     private final ForwardedUser principal;
     private final String credentials;
 
+    /** 构造时传入的权限集合，来自 {@link ForwardedAuthoritiesCache} 时可用于引用比较。 */
+    private final Collection<? extends GrantedAuthority> grantedAuthorities;
+
+    /** 权限位图，序号仅在当前进程有效，反序列化后按需重新计算。 */
+    private transient RoleSet roleSet;
+
     public ForwardedAuthenticationToken(
             ForwardedUser principal, Collection<? extends GrantedAuthority> authorities) {
         this(principal, authorities, "N/A");
@@ -26,11 +32,28 @@ public class ForwardedAuthenticationToken extends AbstractAuthenticationToken {
             Collection<? extends GrantedAuthority> authorities,
             String credentials) {
         super(List.copyOf(authorities));
+        this.grantedAuthorities = authorities;
         this.principal = principal;
         this.credentials = credentials;
+        this.roleSet =
+                authorities instanceof ForwardedAuthorityList list ? list.roleSet() : null;
         setAuthenticated(true);
     }
 
+    /** 是否由同一个权限集合实例构造。 */
+    boolean isGrantedFrom(Collection<? extends GrantedAuthority> authorities) {
+        return grantedAuthorities == authorities;
+    }
+
+    public RoleSet getRoleSet() {
+        RoleSet current = roleSet;
+        if (current == null) {
+            current = RoleSet.of(getAuthorities());
+            roleSet = current;
+        }
+        return current;
+    }
+
     @Override
     public ForwardedUser getPrincipal() {
         return principal;
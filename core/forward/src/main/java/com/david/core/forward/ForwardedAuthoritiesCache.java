@@ -0,0 +1,136 @@
+package com.david.core.forward;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 以原始 {@code X-User-Roles} 请求头为键，缓存预先构建好的不可变权限列表；来自签名身份的用户以其角色列表为键。
+ *
+ * <p>系统中不同的角色组合非常有限，命中后同一组合的请求共享同一个列表实例，
+ * 比较两次请求的权限退化为引用比较。容量有上限，超出时随机淘汰一项。
+ */
+public class ForwardedAuthoritiesCache implements MeterBinder {
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    static final String ROLE_PREFIX = "ROLE_";
+
+    private final ConcurrentHashMap<Object, List<GrantedAuthority>> cache;
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ForwardedAuthoritiesCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ForwardedAuthoritiesCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize 必须大于 0: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 64));
+    }
+
+    /**
+     * 获取角色对应的权限列表。
+     *
+     * @param rolesHeader 原始角色请求头，作为缓存键；为 {@code null} 时以 {@code roles} 本身为键
+     * @param roles       由该请求头解析得到的角色，仅在未命中时使用
+     */
+    public List<GrantedAuthority> get(@Nullable String rolesHeader, List<String> roles) {
+        if (roles.isEmpty()) {
+            return List.of();
+        }
+        Object key = rolesHeader != null ? rolesHeader : roles;
+        List<GrantedAuthority> cached = cache.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        List<GrantedAuthority> authorities = buildGrantedAuthorities(roles);
+        if (cache.size() >= maxSize) {
+            evictOne();
+        }
+        List<GrantedAuthority> previous = cache.putIfAbsent(key, authorities);
+        return previous != null ? previous : authorities;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), cache.size());
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("forwarded.authorities.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("forwarded.authorities.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("forwarded.authorities.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("forwarded.authorities.cache.size", cache, ConcurrentHashMap::size)
+                .register(registry);
+    }
+
+    /** 为角色补齐 {@code ROLE_} 前缀并去重，保持原有顺序，同时计算对应的 {@link RoleSet}。 */
+    static List<GrantedAuthority> buildGrantedAuthorities(List<String> roles) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String role : roles) {
+            names.add(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+        }
+        GrantedAuthority[] authorities = new GrantedAuthority[names.size()];
+        int index = 0;
+        for (String name : names) {
+            authorities[index++] = new SimpleGrantedAuthority(name);
+        }
+        return new ForwardedAuthorityList(authorities);
+    }
+
+    /**
+     * 随机淘汰一项。{@link ConcurrentHashMap} 的迭代顺序由键的哈希值决定，总是淘汰第一个键会让同一批桶里的组合反复被淘汰，
+     * 因此跳过随机个数的键；容量很小，遍历的开销可以忽略。
+     */
+    private void evictOne() {
+        int skip = ThreadLocalRandom.current().nextInt(Math.max(cache.size(), 1));
+        Iterator<Object> iterator = cache.keySet().iterator();
+        Object victim = null;
+        while (iterator.hasNext() && skip-- >= 0) {
+            victim = iterator.next();
+        }
+        if (victim != null && cache.remove(victim) != null) {
+            evictions.increment();
+        }
+    }
+
+    /** 缓存命中统计快照。 */
+    public record Stats(long hits, long misses, long evictions, int size) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.david.core.forward;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * {@link ForwardedAuthoritiesCache} 产出的不可变权限列表，同时携带预先计算好的 {@link RoleSet}，
+ * 同一角色组合的请求共享位图而不必重新计算。序列化时替换为普通不可变列表。
+ */
+final class ForwardedAuthorityList extends AbstractList<GrantedAuthority>
+        implements RandomAccess, Serializable {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final GrantedAuthority[] authorities;
+    private final transient RoleSet roleSet;
+
+    ForwardedAuthorityList(GrantedAuthority[] authorities) {
+        this.authorities = authorities;
+        this.roleSet = RoleSet.of(this);
+    }
+
+    RoleSet roleSet() {
+        return roleSet;
+    }
+
+    @Override
+    public GrantedAuthority get(int index) {
+        return authorities[index];
+    }
+
+    @Override
+    public int size() {
+        return authorities.length;
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return List.of(authorities);
+    }
+}
@@ -0,0 +1,319 @@
+package com.david.core.forward;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * {@link ForwardedUserHeaders#USER_IDENTITY} 紧凑签名身份头的编解码器。
+ *
+ * <p>令牌为 {@code base64url(payload || HMAC-SHA256(payload))}，payload 依次为：版本号（1 字节）、
+ * 过期时间（8 字节大端的 epoch 秒）、用户 id（8 字节大端）、用户名（变长长度 + UTF-8）、角色（变长长度 + 以 {@link
+ * ForwardedUserHeaders#ROLE_DELIMITER} 拼接的 UTF-8）。过期时间由签发时间加令牌有效期得出，签发时间按有效期的一半取整，
+ * 同一时间窗口内同一用户的重复请求得到相同令牌，因此验签成功的令牌会在有限时间内被缓存，调用链后续各跳无需重复计算 HMAC；
+ * 每个令牌至少在有效期的一半内可用。缓存条目不会晚于令牌的过期时间失效，写入时从队首清理过期条目，超出上限时淘汰最早写入的条目，
+ * 清理开销摊到每次写入上是常数。
+ *
+ * <p>签名保证身份在网关与服务之间未被篡改，过期时间限制了令牌泄露后可被使用的时长；有效期内不提供防重放能力。
+ * 网关与服务的时钟偏差须远小于令牌有效期。
+ */
+public class ForwardedIdentityCodec implements MeterBinder {
+
+    public static final String ALGORITHM = "HmacSHA256";
+
+    public static final int DEFAULT_VERIFIED_CACHE_MAX_SIZE = 1024;
+
+    public static final Duration DEFAULT_TOKEN_TTL = Duration.ofMinutes(5);
+
+    private static final byte VERSION = 2;
+    private static final int MAC_LENGTH = 32;
+    private static final int MIN_PAYLOAD_LENGTH = 1 + Long.BYTES + Long.BYTES + 1 + 1;
+
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final boolean required;
+    private final long tokenTtlSeconds;
+    private final long issueWindowSeconds;
+    private final long verifiedTtlNanos;
+    private final int verifiedMaxSize;
+    private final Map<String, VerifiedIdentity> verified = new ConcurrentHashMap<>();
+    private final Queue<Written> written = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ForwardedIdentityCodec(byte[] secret) {
+        this(
+                secret,
+                DEFAULT_TOKEN_TTL,
+                AppConvention.DEFAULT_TOKEN_CACHE_TTL,
+                DEFAULT_VERIFIED_CACHE_MAX_SIZE,
+                false);
+    }
+
+    /**
+     * @param secret          HMAC 密钥，网关与下游服务需保持一致
+     * @param tokenTtl        网关签发令牌的有效期，不少于 2 秒
+     * @param verifiedTtl     验签结果缓存时长
+     * @param verifiedMaxSize 验签结果缓存上限
+     * @param required        为 {@code true} 时不再接受未签名的明文身份头
+     */
+    public ForwardedIdentityCodec(
+            byte[] secret,
+            Duration tokenTtl,
+            Duration verifiedTtl,
+            int verifiedMaxSize,
+            boolean required) {
+        Assert.isTrue(secret != null && secret.length > 0, "签名密钥不能为空");
+        Assert.isTrue(tokenTtl.getSeconds() >= 2, "tokenTtl 不能少于 2 秒");
+        Assert.isTrue(verifiedMaxSize > 0, "verifiedMaxSize 必须大于 0");
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.prototype = newMac();
+        this.required = required;
+        this.tokenTtlSeconds = tokenTtl.getSeconds();
+        this.issueWindowSeconds = tokenTtlSeconds / 2;
+        this.verifiedTtlNanos = verifiedTtl.toNanos();
+        this.verifiedMaxSize = verifiedMaxSize;
+    }
+
+    /** 是否要求所有请求都携带签名身份。 */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /** 网关侧：将用户编码为签名令牌。 */
+    public String encode(ForwardedUser user) {
+        Assert.notNull(user.id(), "用户 id 不能为空");
+        Assert.hasText(user.username(), "用户名不能为空");
+        byte[] username = user.username().getBytes(StandardCharsets.UTF_8);
+        byte[] roles =
+                String.join(ForwardedUserHeaders.ROLE_DELIMITER, user.roles())
+                        .getBytes(StandardCharsets.UTF_8);
+
+        int payloadLength =
+                1
+                        + Long.BYTES
+                        + Long.BYTES
+                        + varIntSize(username.length)
+                        + username.length
+                        + varIntSize(roles.length)
+                        + roles.length;
+        byte[] token = new byte[payloadLength + MAC_LENGTH];
+        int offset = 0;
+        token[offset++] = VERSION;
+        long now = System.currentTimeMillis() / 1000;
+        offset = writeLong(token, offset, now - now % issueWindowSeconds + tokenTtlSeconds);
+        offset = writeLong(token, offset, user.id());
+        offset = writeVarInt(token, offset, username.length);
+        System.arraycopy(username, 0, token, offset, username.length);
+        offset += username.length;
+        offset = writeVarInt(token, offset, roles.length);
+        System.arraycopy(roles, 0, token, offset, roles.length);
+
+        Mac mac = mac();
+        mac.update(token, 0, payloadLength);
+        try {
+            mac.doFinal(token, payloadLength);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("计算身份签名失败", ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /** 服务侧：校验并解析签名令牌，令牌格式或签名不正确、已过期时返回 {@code null}。 */
+    @Nullable
+    public ForwardedUser decode(String token) {
+        long now = System.nanoTime();
+        VerifiedIdentity cached = verified.get(token);
+        if (cached != null) {
+            if (now - cached.expiresAt() < 0) {
+                hits.increment();
+                return cached.user();
+            }
+            verified.remove(token, cached);
+        }
+        misses.increment();
+
+        VerifiedIdentity identity = verify(token, now);
+        if (identity == null) {
+            rejected.increment();
+            return null;
+        }
+        verified.put(token, identity);
+        written.add(new Written(token, identity));
+        expire(now);
+        return identity.user();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("forwarded.identity.verifications", hits, LongAdder::sum)
+                .tag("result", "cached")
+                .register(registry);
+        FunctionCounter.builder("forwarded.identity.verifications", misses, LongAdder::sum)
+                .tag("result", "computed")
+                .register(registry);
+        FunctionCounter.builder("forwarded.identity.rejected", rejected, LongAdder::sum)
+                .register(registry);
+    }
+
+    /** 验签并检查过期时间，缓存条目的失效时间取缓存时长与令牌剩余有效期中较早者。 */
+    @Nullable
+    private VerifiedIdentity verify(String token, long now) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+        int payloadLength = bytes.length - MAC_LENGTH;
+        if (payloadLength < MIN_PAYLOAD_LENGTH || bytes[0] != VERSION) {
+            return null;
+        }
+
+        Mac mac = mac();
+        mac.update(bytes, 0, payloadLength);
+        byte[] expected = mac.doFinal();
+        byte[] actual = new byte[MAC_LENGTH];
+        System.arraycopy(bytes, payloadLength, actual, 0, MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+
+        long remainingMillis = readLong(bytes, 1) * 1000 - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            return null;
+        }
+        long id = readLong(bytes, 1 + Long.BYTES);
+        int offset = 1 + Long.BYTES + Long.BYTES;
+        long usernameField = readVarInt(bytes, offset, payloadLength);
+        if (usernameField < 0) {
+            return null;
+        }
+        offset = (int) usernameField;
+        int usernameLength = (int) (usernameField >>> 32);
+        if (usernameLength == 0 || offset + usernameLength > payloadLength) {
+            return null;
+        }
+        String username = new String(bytes, offset, usernameLength, StandardCharsets.UTF_8);
+        offset += usernameLength;
+
+        long rolesField = readVarInt(bytes, offset, payloadLength);
+        if (rolesField < 0) {
+            return null;
+        }
+        offset = (int) rolesField;
+        int rolesLength = (int) (rolesField >>> 32);
+        if (offset + rolesLength != payloadLength) {
+            return null;
+        }
+        List<String> roles =
+                rolesLength == 0
+                        ? List.of()
+                        : ForwardedUserParser.parseRoles(
+                                new String(bytes, offset, rolesLength, StandardCharsets.UTF_8));
+        long ttlNanos =
+                remainingMillis >= verifiedTtlNanos / 1_000_000
+                        ? verifiedTtlNanos
+                        : remainingMillis * 1_000_000;
+        return new VerifiedIdentity(new ForwardedUser(id, username, roles), now + ttlNanos);
+    }
+
+    private void expire(long now) {
+        Written head;
+        while ((head = written.peek()) != null
+                && (now - head.identity().expiresAt() >= 0 || verified.size() > verifiedMaxSize)) {
+            // 条目已被覆盖或在读取时移除的，只出队不删除
+            if (written.remove(head)) {
+                verified.remove(head.token(), head.identity());
+            }
+        }
+    }
+
+    /** Mac 非线程安全，从已初始化的原型克隆以避免每次查找算法提供者。 */
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("无法初始化 " + ALGORITHM, ex);
+        }
+    }
+
+    private static int writeLong(byte[] target, int offset, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            target[offset++] = (byte) (value >>> shift);
+        }
+        return offset;
+    }
+
+    private static long readLong(byte[] source, int offset) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (source[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarInt(byte[] target, int offset, int value) {
+        while ((value & ~0x7F) != 0) {
+            target[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[offset++] = (byte) value;
+        return offset;
+    }
+
+    /** 读取变长整数，高 32 位为数值、低 32 位为读取后的偏移量；格式非法时返回 -1。 */
+    private static long readVarInt(byte[] source, int offset, int limit) {
+        int value = 0;
+        for (int shift = 0; shift < 32 && offset < limit; shift += 7) {
+            byte b = source[offset++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value < 0 ? -1 : ((long) value << 32) | offset;
+            }
+        }
+        return -1;
+    }
+
+    private record VerifiedIdentity(ForwardedUser user, long expiresAt) {}
+
+    private record Written(String token, VerifiedIdentity identity) {}
+}
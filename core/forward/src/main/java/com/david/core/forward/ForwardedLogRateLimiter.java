@@ -0,0 +1,56 @@
+package com.david.core.forward;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定窗口的日志限流器：每个窗口内最多放行 {@code permitsPerInterval} 条，其余计入被抑制数量，
+ * 由下一条放行的日志一并输出。{@code permitsPerInterval} 为 0 时不放行任何日志。
+ */
+public final class ForwardedLogRateLimiter {
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    public static final int DEFAULT_PERMITS_PER_INTERVAL = 1;
+
+    private final long intervalNanos;
+    private final int permitsPerInterval;
+    private final AtomicLong windowStart;
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public ForwardedLogRateLimiter(Duration interval, int permitsPerInterval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval 必须大于 0: " + interval);
+        }
+        if (permitsPerInterval < 0) {
+            throw new IllegalArgumentException(
+                    "permitsPerInterval 不能为负数: " + permitsPerInterval);
+        }
+        this.intervalNanos = interval.toNanos();
+        this.permitsPerInterval = permitsPerInterval;
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /** 当前是否允许输出一条日志；不允许时计入被抑制数量。 */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            permitsUsed.set(0);
+        }
+        if (permitsUsed.get() < permitsPerInterval
+                && permitsUsed.incrementAndGet() <= permitsPerInterval) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /** 返回并清零自上次调用以来被抑制的日志数量。 */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+}
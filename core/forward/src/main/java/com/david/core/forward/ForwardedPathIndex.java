@@ -0,0 +1,194 @@
+package com.david.core.forward;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PatternParseException;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 将一组 Ant 风格路径编译为按路径段组织的前缀树，一次遍历判断请求路径是否命中任一模式。
+ *
+ * <p>纯字面量模式在树上逐段比较即可得出结果，不创建子串；以 {@code /**} 结尾的模式在到达对应节点时直接命中；
+ * 其余含通配符的模式挂在其首个非字面量段之前的节点上，仅当请求路径走到该节点时才交给 {@link PathPattern}
+ * 匹配，{@link PathPattern} 不支持的写法（如中间出现 {@code **}）回退到 {@link AntPathMatcher}。
+ */
+public final class ForwardedPathIndex {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private final Node root;
+    private final boolean empty;
+
+    private ForwardedPathIndex(Node root, boolean empty) {
+        this.root = root;
+        this.empty = empty;
+    }
+
+    /** {@link AppConvention} 约定的默认白名单（认证端点与 actuator）。 */
+    public static List<String> defaultWhiteListPaths() {
+        return AppConvention.DEFAULT_WHITE_LIST_PATHS;
+    }
+
+    public static ForwardedPathIndex of(Collection<String> patterns) {
+        Node root = new Node();
+        boolean empty = true;
+        for (String pattern : patterns) {
+            if (StringUtils.hasText(pattern)) {
+                add(root, pattern.trim());
+                empty = false;
+            }
+        }
+        return new ForwardedPathIndex(root, empty);
+    }
+
+    /** 与 {@code AntPathRequestMatcher} 一致，取 servletPath 与 pathInfo 拼接后的路径进行匹配。 */
+    public boolean matches(HttpServletRequest request) {
+        if (empty) {
+            return false;
+        }
+        String path = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        if (pathInfo != null) {
+            path = StringUtils.hasLength(path) ? path + pathInfo : pathInfo;
+        }
+        return matches(path);
+    }
+
+    public boolean matches(String path) {
+        if (empty || path == null) {
+            return false;
+        }
+        int length = path.length();
+        int index = path.startsWith("/") ? 1 : 0;
+        PathContainer container = null;
+        Node node = root;
+        while (true) {
+            if (node.matchesAll) {
+                return true;
+            }
+            if (node.patterns != null) {
+                if (container == null) {
+                    container = PathContainer.parsePath(path);
+                }
+                for (PathPattern pattern : node.patterns) {
+                    if (pattern.matches(container)) {
+                        return true;
+                    }
+                }
+            }
+            if (node.antPatterns != null) {
+                for (String pattern : node.antPatterns) {
+                    if (ANT_PATH_MATCHER.match(pattern, path)) {
+                        return true;
+                    }
+                }
+            }
+            if (index > length) {
+                return node.terminal;
+            }
+            int end = path.indexOf('/', index);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.child(path, index, end);
+            if (node == null) {
+                return false;
+            }
+            index = end + 1;
+        }
+    }
+
+    private static void add(Node root, String pattern) {
+        String normalized = pattern.startsWith("/") ? pattern.substring(1) : pattern;
+        String[] segments = normalized.split("/", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if ("**".equals(segment) && i == segments.length - 1) {
+                node.matchesAll = true;
+                return;
+            }
+            if (!isLiteral(segment)) {
+                node.addPattern(pattern);
+                return;
+            }
+            node = node.childOrCreate(segment);
+        }
+        node.terminal = true;
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Node {
+
+        private String[] names = new String[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+        private boolean matchesAll;
+        private List<PathPattern> patterns;
+        private List<String> antPatterns;
+
+        /** 子节点通常很少，按区间线性比较，避免为查找创建子串。 */
+        Node child(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childOrCreate(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return children[i];
+                }
+            }
+            int size = names.length;
+            String[] newNames = new String[size + 1];
+            Node[] newChildren = new Node[size + 1];
+            System.arraycopy(names, 0, newNames, 0, size);
+            System.arraycopy(children, 0, newChildren, 0, size);
+            Node child = new Node();
+            newNames[size] = name;
+            newChildren[size] = child;
+            names = newNames;
+            children = newChildren;
+            return child;
+        }
+
+        void addPattern(String pattern) {
+            String absolute = pattern.startsWith("/") ? pattern : "/" + pattern;
+            try {
+                PathPattern parsed = PathPatternParser.defaultInstance.parse(absolute);
+                if (patterns == null) {
+                    patterns = new ArrayList<>();
+                }
+                patterns.add(parsed);
+            } catch (PatternParseException ex) {
+                if (antPatterns == null) {
+                    antPatterns = new ArrayList<>();
+                }
+                antPatterns.add(absolute);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.david.core.forward;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内的权限名序号表，为 {@link RoleSet} 分配位序号。
+ *
+ * <p>权限名以完整形式登记（角色带 {@code ROLE_} 前缀），序号只增不减，最多 {@link #MAX_ROLES} 个；登记满后不再分配，
+ * 因此某个权限名要么在首次出现时拿到序号，要么永远没有序号。
+ *
+ * <p>只有方法上声明的权限（{@code @PreAuthorize} 中的字面量）才会登记，并在启动完成、接收请求之前登记完毕；请求头中的权限只查表，
+ * 避免上游传来的大量角色名占满登记表。{@link RoleSet} 记录构建时已登记的序号范围，之后登记的权限不会被误判为不包含。
+ * 序号仅在当前进程内有效，不能序列化或跨服务传递。
+ *
+ * <p>登记表是整个 JVM 共享的静态表，不区分 Spring 容器：同一进程内的多个容器（如测试中缓存的多个上下文）共用
+ * {@link #MAX_ROLES} 个序号。序号只增不减，共用不会造成误判，但各容器声明的权限合计超出上限后，后登记的方法不走快速路径。
+ */
+public final class ForwardedRoleRegistry {
+
+    public static final int MAX_ROLES = Long.SIZE;
+
+    private static final ConcurrentHashMap<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+    private static final LongAdder REJECTED = new LongAdder();
+
+    private ForwardedRoleRegistry() {}
+
+    /** 已登记的序号，未登记返回 {@code -1}。 */
+    public static int ordinal(String authority) {
+        Integer ordinal = ORDINALS.get(authority);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /** 返回权限名的序号，未登记时尝试登记；登记已满返回 {@code -1}。 */
+    public static int register(String authority) {
+        Integer ordinal = ORDINALS.get(authority);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ORDINALS) {
+            ordinal = ORDINALS.get(authority);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            int size = ORDINALS.size();
+            if (size >= MAX_ROLES) {
+                REJECTED.increment();
+                return -1;
+            }
+            ORDINALS.put(authority, size);
+            return size;
+        }
+    }
+
+    /** 已登记的权限数，序号 {@code 0} 到 {@code size() - 1} 均已分配。 */
+    public static int size() {
+        return ORDINALS.size();
+    }
+
+    /** 因登记表已满而未能登记的次数。 */
+    public static long rejected() {
+        return REJECTED.sum();
+    }
+}
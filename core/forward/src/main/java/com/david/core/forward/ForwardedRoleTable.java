@@ -0,0 +1,68 @@
+package com.david.core.forward;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界的角色名规范化表。
+ *
+ * <p>按字符区间直接在原始请求头上查找，命中时复用已登记的 {@link String} 实例而不产生子串；
+ * 登记数量达到上限后不再收录新角色，仅按需创建子串，避免异常请求头撑大常驻内存。
+ */
+final class ForwardedRoleTable {
+
+    /** 默认槽位数量，必须为 2 的幂。 */
+    static final int DEFAULT_CAPACITY = 512;
+
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicInteger size = new AtomicInteger();
+    private final int mask;
+    private final int maxEntries;
+
+    ForwardedRoleTable(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity 必须为大于 1 的 2 的幂: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        // 保持至多半满，线性探测总能在有限步内遇到空槽
+        this.maxEntries = capacity >>> 1;
+    }
+
+    /** 返回 {@code source[start, end)} 对应的规范角色名。 */
+    String intern(String source, int start, int end) {
+        int length = end - start;
+        int index = hash(source, start, end) & mask;
+        while (true) {
+            String candidate = slots.get(index);
+            if (candidate == null) {
+                String role = source.substring(start, end);
+                if (size.get() >= maxEntries) {
+                    return role;
+                }
+                if (slots.compareAndSet(index, null, role)) {
+                    size.incrementAndGet();
+                    return role;
+                }
+                // 并发登记失败，重新检查该槽位
+                candidate = slots.get(index);
+            }
+            if (candidate.length() == length && candidate.regionMatches(0, source, start, length)) {
+                return candidate;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    private static int hash(String source, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + source.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,19 +1,89 @@
 package com.david.core.forward;
 
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.WebFilter;
+
+import java.nio.charset.StandardCharsets;
 
-/** 自动配置类，用于将转发用户基础设施集成到Spring MVC应用程序中。 */
+/** 自动配置类，用于将转发用户基础设施集成到 Spring MVC 或 WebFlux 应用程序中。 */
+@Slf4j
 @AutoConfiguration
 @ConditionalOnClass(OncePerRequestFilter.class)
+@EnableConfigurationProperties(ForwardedUserProperties.class)
 public class ForwardedSecurityAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public ForwardedUserContextFilter forwardedUserContextFilter() {
-        return new ForwardedUserContextFilter();
+    public ForwardedAuthoritiesCache forwardedAuthoritiesCache(ForwardedUserProperties properties) {
+        return new ForwardedAuthoritiesCache(properties.getAuthoritiesCache().getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.security.forwarded.identity", name = "secret")
+    public ForwardedIdentityCodec forwardedIdentityCodec(ForwardedUserProperties properties) {
+        ForwardedUserProperties.Identity identity = properties.getIdentity();
+        byte[] secret = identity.getSecret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length < 32) {
+            log.warn("X-User-Identity 签名密钥长度仅 {} 字节，建议不少于 32 字节", secret.length);
+        }
+        return new ForwardedIdentityCodec(
+                secret,
+                identity.getTokenTtl(),
+                identity.getVerifiedCacheTtl(),
+                identity.getVerifiedCacheMaxSize(),
+                identity.isRequired());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ForwardedUserMetrics forwardedUserMetrics() {
+        return new ForwardedUserMetrics();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ForwardedUserContextFilter forwardedUserContextFilter(
+            ForwardedAuthoritiesCache authoritiesCache,
+            ObjectProvider<ForwardedIdentityCodec> identityCodec,
+            ForwardedUserMetrics metrics,
+            ForwardedUserProperties properties) {
+        ForwardedUserProperties.Logging logging = properties.getLogging();
+        return new ForwardedUserContextFilter(
+                authoritiesCache,
+                identityCodec.getIfAvailable(),
+                metrics,
+                new ForwardedLogRateLimiter(
+                        logging.getMissingIdentityInterval(),
+                        logging.getMissingIdentityPerInterval()));
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({WebFilter.class, ReactiveSecurityContextHolder.class})
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveForwardedUserConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ForwardedUserWebFilter forwardedUserWebFilter(
+                ForwardedAuthoritiesCache authoritiesCache,
+                ObjectProvider<ForwardedIdentityCodec> identityCodec,
+                ForwardedUserMetrics metrics) {
+            return new ForwardedUserWebFilter(
+                    authoritiesCache, identityCodec.getIfAvailable(), metrics);
+        }
     }
 }
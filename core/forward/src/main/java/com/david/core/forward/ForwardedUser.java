@@ -2,10 +2,7 @@ package com.david.core.forward;
 
 import java.io.Serial;
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 
 /** 简单的值对象，用于描述已经通过上游网关认证的用户身份。 */
 public record ForwardedUser(Long id, String username, List<String> roles) implements Serializable {
@@ -13,19 +10,21 @@ public record ForwardedUser(Long id, String username, List<String> roles) implem
     @Serial private static final long serialVersionUID = 1L;
 
     public ForwardedUser {
-        roles = Optional.ofNullable(roles).map(List::copyOf).orElse(List.of());
+        // 对不可变列表 List.copyOf 直接返回原实例，解析器产出的角色列表不会被再次复制
+        roles = roles == null ? List.of() : List.copyOf(roles);
     }
 
     /** 便利工厂方法，避免空集合。 */
     public static ForwardedUser of(Long id, String username, List<String> roles) {
-        return new ForwardedUser(
-                id, username, Optional.ofNullable(roles).orElse(Collections.emptyList()));
+        return new ForwardedUser(id, username, roles);
     }
 
     public boolean hasRole(String role) {
-        return Optional.ofNullable(roles).filter(r -> !r.isEmpty()).stream()
-                .flatMap(List::stream)
-                .filter(Objects::nonNull)
-                .anyMatch(role::equals);
+        for (int i = 0, size = roles.size(); i < size; i++) {
+            if (roles.get(i).equals(role)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -10,11 +10,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -22,9 +23,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * 使用网关已认证的用户身份填充 {@link org.springframework.security.core.context.SecurityContext}。
@@ -37,6 +36,57 @@ public class ForwardedUserContextFilter extends OncePerRequestFilter {
     /** 过滤器执行顺序，设置为最高优先级+50。 */
     public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 50;
 
+    private final ForwardedAuthoritiesCache authoritiesCache;
+    @Nullable private final ForwardedIdentityCodec identityCodec;
+    private final ForwardedUserMetrics metrics;
+    private final ForwardedLogRateLimiter missingIdentityLog;
+    @Nullable private ForwardedPathIndex publicPaths;
+
+    public ForwardedUserContextFilter() {
+        this(new ForwardedAuthoritiesCache());
+    }
+
+    public ForwardedUserContextFilter(ForwardedAuthoritiesCache authoritiesCache) {
+        this(authoritiesCache, null);
+    }
+
+    public ForwardedUserContextFilter(
+            ForwardedAuthoritiesCache authoritiesCache,
+            @Nullable ForwardedIdentityCodec identityCodec) {
+        this(
+                authoritiesCache,
+                identityCodec,
+                new ForwardedUserMetrics(),
+                new ForwardedLogRateLimiter(
+                        ForwardedLogRateLimiter.DEFAULT_INTERVAL,
+                        ForwardedLogRateLimiter.DEFAULT_PERMITS_PER_INTERVAL));
+    }
+
+    /**
+     * @param metrics            热路径指标，需要绑定到注册表后才会上报
+     * @param missingIdentityLog 缺少转发身份时 WARN 日志的限流器
+     */
+    public ForwardedUserContextFilter(
+            ForwardedAuthoritiesCache authoritiesCache,
+            @Nullable ForwardedIdentityCodec identityCodec,
+            ForwardedUserMetrics metrics,
+            ForwardedLogRateLimiter missingIdentityLog) {
+        this.authoritiesCache = authoritiesCache;
+        this.identityCodec = identityCodec;
+        this.metrics = metrics;
+        this.missingIdentityLog = missingIdentityLog;
+    }
+
+    /** 命中的公开路径不再解析转发身份，{@code null} 表示对所有请求生效。 */
+    public void setPublicPaths(@Nullable ForwardedPathIndex publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return publicPaths != null && publicPaths.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -44,47 +94,62 @@ public class ForwardedUserContextFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        Optional<Authentication> currentAuthentication =
-                Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication());
-        Optional<ForwardedUser> forwardedUser = ForwardedUserParser.from(request);
-
-        forwardedUser.ifPresentOrElse(
-                user -> {
-                    List<SimpleGrantedAuthority> authorities = buildGrantedAuthorities(user);
-                    if (shouldRefreshForwardedAuthentication(
-                            currentAuthentication.orElse(null), user, authorities)) {
-                        log.debug("刷新转发用户认证信息，用户名: {}", user.username());
-                        SecurityContextHolder.clearContext();
-
-                        ForwardedAuthenticationToken authentication =
-                                new ForwardedAuthenticationToken(user, authorities);
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("成功设置转发用户认证信息到安全上下文，用户名: {}", user.username());
-                    } else {
-                        log.debug("检测到相同的转发用户上下文，跳过刷新，用户名: {}", user.username());
-                    }
-                },
-                () -> {
-                    if (currentAuthentication.isPresent() && currentAuthentication.get() instanceof ForwardedAuthenticationToken) {
-                        log.warn("未检测到转发的用户信息，清理遗留的安全上下文");
-                        SecurityContextHolder.clearContext();
-                    } else {
-                        log.warn("未检测到转发的用户信息");
-                    }
-                });
+        long start = System.nanoTime();
+        Authentication currentAuthentication =
+                SecurityContextHolder.getContext().getAuthentication();
+        ForwardedUser user = ForwardedUserParser.parse(request, identityCodec);
+
+        if (user != null) {
+            metrics.parsed();
+            List<GrantedAuthority> authorities =
+                    authoritiesCache.get(rolesCacheKey(request), user.roles());
+            if (shouldRefreshForwardedAuthentication(currentAuthentication, user, authorities)) {
+                SecurityContextHolder.clearContext();
+
+                ForwardedAuthenticationToken authentication =
+                        new ForwardedAuthenticationToken(user, authorities);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                metrics.refreshed();
+                log.trace("成功设置转发用户认证信息到安全上下文，用户名: {}", user.username());
+            } else {
+                metrics.skipped();
+                log.trace("检测到相同的转发用户上下文，跳过刷新，用户名: {}", user.username());
+            }
+        } else {
+            metrics.missing();
+            if (currentAuthentication instanceof ForwardedAuthenticationToken) {
+                metrics.clearedStale();
+                log.warn("未检测到转发的用户信息，清理遗留的安全上下文");
+                SecurityContextHolder.clearContext();
+            } else if (log.isWarnEnabled() && missingIdentityLog.tryAcquire()) {
+                log.warn(
+                        "未检测到转发的用户信息，期间另有 {} 次同类请求未记录日志",
+                        missingIdentityLog.drainSuppressed());
+            }
+        }
+        metrics.record(start);
 
         try {
             filterChain.doFilter(request, response);
         } finally {
-            Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
-                    .filter(auth -> auth instanceof ForwardedAuthenticationToken)
-                    .ifPresent(auth -> {
-                        SecurityContextHolder.clearContext();
-                        log.trace("清理转发用户认证上下文，防止线程复用导致权限异常");
-                    });
+            if (SecurityContextHolder.getContext().getAuthentication()
+                    instanceof ForwardedAuthenticationToken) {
+                SecurityContextHolder.clearContext();
+                log.trace("清理转发用户认证上下文，防止线程复用导致权限异常");
+            }
         }
     }
 
+    /** 签名身份的角色来自令牌本身，此时不能以明文角色头作为缓存键。 */
+    @Nullable
+    private String rolesCacheKey(HttpServletRequest request) {
+        if (identityCodec != null
+                && StringUtils.hasText(request.getHeader(ForwardedUserHeaders.USER_IDENTITY))) {
+            return null;
+        }
+        return request.getHeader(ForwardedUserHeaders.USER_ROLES);
+    }
+
     private boolean shouldRefreshForwardedAuthentication(
             Authentication currentAuthentication,
             ForwardedUser forwardedUser,
@@ -108,28 +173,28 @@ public class ForwardedUserContextFilter extends OncePerRequestFilter {
         if (!Objects.equals(existingUser.username(), forwardedUser.username())) {
             return true;
         }
-        return !authoritiesEquals(existingToken.getAuthorities(), newAuthorities);
-    }
-
-    private List<SimpleGrantedAuthority> buildGrantedAuthorities(ForwardedUser user) {
-        return user.roles().stream()
-                .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                .distinct()
-                .map(SimpleGrantedAuthority::new)
-                .toList();
+        return !authoritiesEquals(existingToken, newAuthorities);
     }
 
     private boolean authoritiesEquals(
-            Collection<? extends GrantedAuthority> existingAuthorities,
+            ForwardedAuthenticationToken existingToken,
             Collection<? extends GrantedAuthority> newAuthorities) {
-        Set<String> existing =
-                existingAuthorities.stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toCollection(HashSet::new));
-        Set<String> incoming =
-                newAuthorities.stream()
-                        .map(GrantedAuthority::getAuthority)
-                        .collect(Collectors.toCollection(HashSet::new));
-        return existing.equals(incoming);
+        if (existingToken.isGrantedFrom(newAuthorities)) {
+            return true;
+        }
+        Collection<GrantedAuthority> existingAuthorities = existingToken.getAuthorities();
+        if (existingAuthorities.size() != newAuthorities.size()) {
+            return false;
+        }
+        Set<String> existing = new HashSet<>(existingAuthorities.size() * 2);
+        for (GrantedAuthority authority : existingAuthorities) {
+            existing.add(authority.getAuthority());
+        }
+        for (GrantedAuthority authority : newAuthorities) {
+            if (!existing.contains(authority.getAuthority())) {
+                return false;
+            }
+        }
+        return true;
     }
 }
@@ -7,6 +7,9 @@ public final class ForwardedUserHeaders {
     public static final String USER_NAME = "X-User-Name";
     public static final String USER_ROLES = "X-User-Roles";
 
+    /** 可选的紧凑签名身份头，由 {@link ForwardedIdentityCodec} 编解码，存在时优先于上述明文头。 */
+    public static final String USER_IDENTITY = "X-User-Identity";
+
     /** 字段分隔符，用于以纯字符串形式转发角色时使用。 */
     public static final String ROLE_DELIMITER = ",";
 
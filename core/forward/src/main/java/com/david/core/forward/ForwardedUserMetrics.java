@@ -0,0 +1,97 @@
+package com.david.core.forward;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 转发身份过滤器的热路径指标。
+ *
+ * <p>计数器与计时器在构造时一次性创建在内部的 {@link CompositeMeterRegistry} 上，请求路径上不再按标签查找
+ * meter；绑定到实际注册表之前记录为空操作。标签取值固定，基数很低：
+ *
+ * <ul>
+ *   <li>{@code forwarded.user.requests{result=parsed|missing}}：身份解析结果；
+ *   <li>{@code forwarded.user.context{action=refreshed|skipped|cleared_stale}}：安全上下文的处理方式；
+ *   <li>{@code forwarded.user.filter}：解析与建立上下文的耗时，不含后续过滤链；
+ *   <li>{@code forwarded.roles.registered}、{@code forwarded.roles.rejected}：{@link ForwardedRoleRegistry}
+ *       已登记的权限数与因登记表已满而未能登记的次数，后者大于 0 说明有方法的权限判断回退到了 SpEL。
+ * </ul>
+ */
+public final class ForwardedUserMetrics implements MeterBinder {
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+
+    private final Counter parsed = requests("parsed");
+    private final Counter missing = requests("missing");
+    private final Counter refreshed = context("refreshed");
+    private final Counter skipped = context("skipped");
+    private final Counter clearedStale = context("cleared_stale");
+    private final Timer timer =
+            Timer.builder("forwarded.user.filter")
+                    .description("转发身份解析与安全上下文建立耗时")
+                    .register(registry);
+
+    public ForwardedUserMetrics() {
+        Gauge.builder("forwarded.roles.registered", ForwardedRoleRegistry::size)
+                .description("已登记位序号的权限数")
+                .register(registry);
+        FunctionCounter.builder(
+                        "forwarded.roles.rejected",
+                        ForwardedRoleRegistry.class,
+                        type -> ForwardedRoleRegistry.rejected())
+                .description("登记表已满而未能登记的权限次数")
+                .register(registry);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    void parsed() {
+        parsed.increment();
+    }
+
+    void missing() {
+        missing.increment();
+    }
+
+    void refreshed() {
+        refreshed.increment();
+    }
+
+    void skipped() {
+        skipped.increment();
+    }
+
+    void clearedStale() {
+        clearedStale.increment();
+    }
+
+    void record(long startNanos) {
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter requests(String result) {
+        return Counter.builder("forwarded.user.requests")
+                .description("转发身份解析结果")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter context(String action) {
+        return Counter.builder("forwarded.user.context")
+                .description("转发身份安全上下文处理方式")
+                .tag("action", action)
+                .register(registry);
+    }
+}
@@ -6,56 +6,195 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Function;
 
-/** 用于从请求头中读取转发用户信息的工具类。 */
+/**
+ * 用于从请求头中读取转发用户信息的工具类。
+ *
+ * <p>{@code parse} 系列方法为请求热路径准备：单次扫描角色头、角色名经有界规范化表复用、
+ * 用户 id 不经异常解析，缺少身份时直接返回 {@code null}，不额外分配对象。
+ */
 public final class ForwardedUserParser {
 
+    /** 用户 id 非法时的哨兵值，{@link Long#MIN_VALUE} 因此不会被视为合法 id。 */
+    private static final long INVALID_ID = Long.MIN_VALUE;
+
+    private static final char ROLE_DELIMITER = ForwardedUserHeaders.ROLE_DELIMITER.charAt(0);
+
+    private static final ForwardedRoleTable ROLE_TABLE =
+            new ForwardedRoleTable(ForwardedRoleTable.DEFAULT_CAPACITY);
+
     private ForwardedUserParser() {}
 
     public static Optional<ForwardedUser> from(HttpServletRequest request) {
-        return from(request::getHeader);
+        return Optional.ofNullable(parse(request));
     }
 
     public static Optional<ForwardedUser> from(HttpHeaders headers) {
-        return from(headers::getFirst);
+        return Optional.ofNullable(parse(headers));
+    }
+
+    /** 解析转发用户，缺少或非法的身份信息返回 {@code null}。 */
+    @Nullable
+    public static ForwardedUser parse(HttpServletRequest request) {
+        String idHeader = request.getHeader(ForwardedUserHeaders.USER_ID);
+        if (!StringUtils.hasText(idHeader)) {
+            return null;
+        }
+        String username = request.getHeader(ForwardedUserHeaders.USER_NAME);
+        if (!StringUtils.hasText(username)) {
+            return null;
+        }
+        return parse(idHeader, username, request.getHeader(ForwardedUserHeaders.USER_ROLES));
     }
 
-    private static Optional<ForwardedUser> from(Function<String, String> headerProvider) {
-        String idHeader = headerProvider.apply(ForwardedUserHeaders.USER_ID);
-        String username = headerProvider.apply(ForwardedUserHeaders.USER_NAME);
-        String rolesHeader = headerProvider.apply(ForwardedUserHeaders.USER_ROLES);
+    /** 解析转发用户，缺少或非法的身份信息返回 {@code null}。 */
+    @Nullable
+    public static ForwardedUser parse(HttpHeaders headers) {
+        String idHeader = headers.getFirst(ForwardedUserHeaders.USER_ID);
+        if (!StringUtils.hasText(idHeader)) {
+            return null;
+        }
+        String username = headers.getFirst(ForwardedUserHeaders.USER_NAME);
+        if (!StringUtils.hasText(username)) {
+            return null;
+        }
+        return parse(idHeader, username, headers.getFirst(ForwardedUserHeaders.USER_ROLES));
+    }
 
-        if (!StringUtils.hasText(idHeader) || !StringUtils.hasText(username)) {
-            return Optional.empty();
+    /**
+     * 优先读取 {@link ForwardedUserHeaders#USER_IDENTITY} 签名身份；未携带时按 {@code identityCodec}
+     * 的配置决定是否回退到明文身份头。{@code identityCodec} 为 {@code null} 时等同于 {@link
+     * #parse(HttpServletRequest)}。
+     */
+    @Nullable
+    public static ForwardedUser parse(
+            HttpServletRequest request, @Nullable ForwardedIdentityCodec identityCodec) {
+        if (identityCodec == null) {
+            return parse(request);
+        }
+        String identity = request.getHeader(ForwardedUserHeaders.USER_IDENTITY);
+        if (StringUtils.hasText(identity)) {
+            return identityCodec.decode(identity);
         }
+        return identityCodec.isRequired() ? null : parse(request);
+    }
 
-        return parseUserId(idHeader)
-                .map(
-                        userId -> {
-                            List<String> roles = parseRoles(rolesHeader);
-                            return ForwardedUser.of(userId, username, roles);
-                        });
+    /** 见 {@link #parse(HttpServletRequest, ForwardedIdentityCodec)}。 */
+    @Nullable
+    public static ForwardedUser parse(
+            HttpHeaders headers, @Nullable ForwardedIdentityCodec identityCodec) {
+        if (identityCodec == null) {
+            return parse(headers);
+        }
+        String identity = headers.getFirst(ForwardedUserHeaders.USER_IDENTITY);
+        if (StringUtils.hasText(identity)) {
+            return identityCodec.decode(identity);
+        }
+        return identityCodec.isRequired() ? null : parse(headers);
     }
 
-    private static Optional<Long> parseUserId(String idHeader) {
-        try {
-            return Optional.of(Long.valueOf(idHeader));
-        } catch (NumberFormatException ex) {
-            return Optional.empty();
+    @Nullable
+    private static ForwardedUser parse(
+            String idHeader, String username, @Nullable String rolesHeader) {
+        long userId = parseUserId(idHeader);
+        if (userId == INVALID_ID) {
+            return null;
         }
+        return new ForwardedUser(userId, username, parseRoles(rolesHeader));
     }
 
-    private static List<String> parseRoles(@Nullable String rolesHeader) {
-        if (!StringUtils.hasText(rolesHeader)) {
+    /** 与 {@link Long#parseLong(String)} 规则一致（仅 ASCII 数字），非法时返回 {@link #INVALID_ID}，不抛出异常。 */
+    static long parseUserId(String idHeader) {
+        int length = idHeader.length();
+        int index = 0;
+        boolean negative = false;
+        char first = idHeader.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index = 1;
+            if (length == 1) {
+                return INVALID_ID;
+            }
+        }
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        // 与 JDK 一致，按负数累加以覆盖完整取值范围
+        for (; index < length; index++) {
+            int digit = idHeader.charAt(index) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                return INVALID_ID;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return INVALID_ID;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /** 单次扫描角色头，去除首尾空白并忽略空项，角色名取自规范化表。 */
+    static List<String> parseRoles(@Nullable String rolesHeader) {
+        if (rolesHeader == null || rolesHeader.isEmpty()) {
             return List.of();
         }
-        return Arrays.stream(rolesHeader.split(ForwardedUserHeaders.ROLE_DELIMITER))
-                .map(String::trim)
-                .filter(StringUtils::hasText)
-                .toList();
+        int length = rolesHeader.length();
+        int segments = 1;
+        for (int i = 0; i < length; i++) {
+            if (rolesHeader.charAt(i) == ROLE_DELIMITER) {
+                segments++;
+            }
+        }
+
+        String single = null;
+        String[] roles = null;
+        int count = 0;
+        int start = 0;
+        while (start <= length) {
+            int end = rolesHeader.indexOf(ROLE_DELIMITER, start);
+            if (end < 0) {
+                end = length;
+            }
+            int from = start;
+            int to = end;
+            while (from < to && rolesHeader.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && rolesHeader.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            if (from < to) {
+                String role = ROLE_TABLE.intern(rolesHeader, from, to);
+                if (segments == 1) {
+                    single = role;
+                } else {
+                    if (roles == null) {
+                        roles = new String[segments];
+                    }
+                    roles[count] = role;
+                }
+                count++;
+            }
+            start = end + 1;
+        }
+
+        if (count == 0) {
+            return List.of();
+        }
+        if (single != null) {
+            return List.of(single);
+        }
+        if (count == 1) {
+            return List.of(roles[0]);
+        }
+        if (count < roles.length) {
+            String[] trimmed = new String[count];
+            System.arraycopy(roles, 0, trimmed, 0, count);
+            roles = trimmed;
+        }
+        return List.of(roles);
     }
 }
@@ -0,0 +1,64 @@
+package com.david.core.forward;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** 转发身份过滤器的外部化参数，与下游安全配置共用 {@code app.security.forwarded} 前缀。 */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.security.forwarded")
+public class ForwardedUserProperties {
+
+    private AuthoritiesCache authoritiesCache = new AuthoritiesCache();
+
+    private Identity identity = new Identity();
+
+    private Logging logging = new Logging();
+
+    @Getter
+    @Setter
+    public static class AuthoritiesCache {
+
+        /** 缓存的角色组合数量上限，超出后随机淘汰。 */
+        private int maxSize = ForwardedAuthoritiesCache.DEFAULT_MAX_SIZE;
+    }
+
+    @Getter
+    @Setter
+    public static class Identity {
+
+        /** 签名身份头的 HMAC 密钥，配置后启用 {@code X-User-Identity} 解析，建议不少于 32 字节。 */
+        private String secret;
+
+        /** 是否只接受签名身份头，开启后忽略明文的 {@code X-User-*} 身份头。 */
+        private boolean required = false;
+
+        /**
+         * 签名令牌的有效期，写入令牌并参与签名，过期的令牌验签失败。网关按有效期的一半对签发时间取整，
+         * 令牌至少在有效期的一半内可用；网关与服务的时钟偏差须远小于该值。
+         */
+        private Duration tokenTtl = ForwardedIdentityCodec.DEFAULT_TOKEN_TTL;
+
+        /** 验签结果的缓存时长，不会超过令牌的剩余有效期。 */
+        private Duration verifiedCacheTtl = AppConvention.DEFAULT_TOKEN_CACHE_TTL;
+
+        /** 验签结果的缓存上限。 */
+        private int verifiedCacheMaxSize = ForwardedIdentityCodec.DEFAULT_VERIFIED_CACHE_MAX_SIZE;
+    }
+
+    @Getter
+    @Setter
+    public static class Logging {
+
+        /** 缺少转发身份时 WARN 日志的限流窗口。 */
+        private Duration missingIdentityInterval = ForwardedLogRateLimiter.DEFAULT_INTERVAL;
+
+        /** 每个限流窗口内最多输出的 WARN 日志条数，0 表示不输出。 */
+        private int missingIdentityPerInterval =
+                ForwardedLogRateLimiter.DEFAULT_PERMITS_PER_INTERVAL;
+    }
+}
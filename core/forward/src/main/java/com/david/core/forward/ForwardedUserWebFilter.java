@@ -0,0 +1,109 @@
+package com.david.core.forward;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * {@link ForwardedUserContextFilter} 的 WebFlux 版本，将网关转发的身份写入 {@link
+ * ReactiveSecurityContextHolder}。
+ *
+ * <p>身份通过 Reactor Context 传递，只对本次请求的订阅链可见，不需要像线程绑定上下文那样在结束时清理。
+ * 过滤器顺序早于 Spring Security 的 {@code WebFilterChainProxy}，安全过滤链内读取到的即为转发身份。
+ */
+@Slf4j
+public class ForwardedUserWebFilter implements WebFilter, Ordered {
+
+    /** 与 Servlet 过滤器保持一致的执行顺序。 */
+    public static final int ORDER = ForwardedUserContextFilter.ORDER;
+
+    private final ForwardedAuthoritiesCache authoritiesCache;
+    @Nullable private final ForwardedIdentityCodec identityCodec;
+    private final ForwardedUserMetrics metrics;
+    @Nullable private ForwardedPathIndex publicPaths;
+
+    public ForwardedUserWebFilter() {
+        this(new ForwardedAuthoritiesCache());
+    }
+
+    public ForwardedUserWebFilter(ForwardedAuthoritiesCache authoritiesCache) {
+        this(authoritiesCache, null);
+    }
+
+    public ForwardedUserWebFilter(
+            ForwardedAuthoritiesCache authoritiesCache,
+            @Nullable ForwardedIdentityCodec identityCodec) {
+        this(authoritiesCache, identityCodec, new ForwardedUserMetrics());
+    }
+
+    public ForwardedUserWebFilter(
+            ForwardedAuthoritiesCache authoritiesCache,
+            @Nullable ForwardedIdentityCodec identityCodec,
+            ForwardedUserMetrics metrics) {
+        this.authoritiesCache = authoritiesCache;
+        this.identityCodec = identityCodec;
+        this.metrics = metrics;
+    }
+
+    /** 命中的公开路径不再解析转发身份，{@code null} 表示对所有请求生效。 */
+    public void setPublicPaths(@Nullable ForwardedPathIndex publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        if (publicPaths != null
+                && publicPaths.matches(
+                        exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        ForwardedUser user = ForwardedUserParser.parse(headers, identityCodec);
+        if (user == null) {
+            metrics.missing();
+            metrics.record(start);
+            log.trace("未检测到转发的用户信息");
+            return chain.filter(exchange);
+        }
+        metrics.parsed();
+        List<GrantedAuthority> authorities =
+                authoritiesCache.get(rolesCacheKey(headers), user.roles());
+        ForwardedAuthenticationToken authentication =
+                new ForwardedAuthenticationToken(user, authorities);
+        // Reactor Context 按请求建立，不存在可复用的上下文，每次都记为刷新
+        metrics.refreshed();
+        metrics.record(start);
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+    }
+
+    /** 签名身份的角色来自令牌本身，此时不能以明文角色头作为缓存键。 */
+    @Nullable
+    private String rolesCacheKey(HttpHeaders headers) {
+        if (identityCodec != null
+                && StringUtils.hasText(headers.getFirst(ForwardedUserHeaders.USER_IDENTITY))) {
+            return null;
+        }
+        return headers.getFirst(ForwardedUserHeaders.USER_ROLES);
+    }
+}
@@ -0,0 +1,93 @@
+package com.david.core.forward;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * 以 {@code long} 位图表示的一组权限，位序号来自 {@link ForwardedRoleRegistry}。
+ *
+ * <p>构建时只查表不登记：未登记的权限不占位，{@link #isComplete()} 为 {@code false}。同时记录构建时已登记的序号范围，
+ * 范围内的判断总是精确的；对之后才登记的权限，不完整的位图无法判断，需要回退到按名称比较。
+ */
+public final class RoleSet {
+
+    public static final RoleSet EMPTY = new RoleSet(0L, true, 0L);
+
+    private final long bits;
+    private final boolean complete;
+
+    /** 构建时已登记的序号。 */
+    private final long known;
+
+    private RoleSet(long bits, boolean complete, long known) {
+        this.bits = bits;
+        this.complete = complete;
+        this.known = known;
+    }
+
+    public static RoleSet of(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities.isEmpty()) {
+            return EMPTY;
+        }
+        // 先读取登记数：此前登记的权限一定能查到，并发登记的权限即使未查到也在范围之外
+        int registered = ForwardedRoleRegistry.size();
+        long bits = 0L;
+        boolean complete = true;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            int ordinal = name == null ? -1 : ForwardedRoleRegistry.ordinal(name);
+            if (ordinal < 0) {
+                complete = false;
+            } else {
+                bits |= 1L << ordinal;
+            }
+        }
+        long known = registered >= ForwardedRoleRegistry.MAX_ROLES ? -1L : (1L << registered) - 1;
+        return new RoleSet(bits, complete, known | bits);
+    }
+
+    public long bits() {
+        return bits;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** 是否包含 {@code mask} 中的任一权限；无法仅凭位图判断时返回 {@code null}。 */
+    @Nullable
+    public Boolean containsAny(long mask) {
+        if ((bits & mask) != 0) {
+            return Boolean.TRUE;
+        }
+        return complete || (mask & ~known) == 0 ? Boolean.FALSE : null;
+    }
+
+    /** 是否包含指定权限；无法仅凭位图判断时返回 {@code null}。 */
+    @Nullable
+    public Boolean hasAuthority(String authority) {
+        int ordinal = ForwardedRoleRegistry.ordinal(authority);
+        return ordinal < 0 ? (complete ? Boolean.FALSE : null) : containsAny(1L << ordinal);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || (other instanceof RoleSet that
+                        && bits == that.bits
+                        && complete == that.complete
+                        && known == that.known);
+    }
+
+    @Override
+    public int hashCode() {
+        return (Long.hashCode(bits) * 31 + Boolean.hashCode(complete)) * 31 + Long.hashCode(known);
+    }
+
+    @Override
+    public String toString() {
+        return "RoleSet[bits=" + Long.toBinaryString(bits) + ", complete=" + complete + "]";
+    }
+}
@@ -1,6 +1,5 @@
 package com.david.core.http;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -22,6 +21,7 @@ public record ApiError(int status, String code, String message, Map<String, Obje
     }
 
     private static Map<String, Object> unmodifiableCopy(Map<String, Object> source) {
-        return Map.copyOf(new LinkedHashMap<>(source));
+        // 空 Map 共用同一实例；Map.copyOf 对已不可变的 Map 直接返回原实例
+        return source.isEmpty() ? Map.of() : Map.copyOf(source);
     }
 }
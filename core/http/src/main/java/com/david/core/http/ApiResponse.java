@@ -1,7 +1,6 @@
 package com.david.core.http;
 
 import java.time.OffsetDateTime;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -10,7 +9,7 @@ import java.util.Map;
  * @param isSuccess 标识本次调用是否成功
  * @param data      成功时的业务数据
  * @param error     失败时的错误描述
- * @param timestamp 响应产生时间
+ * @param timestamp 响应产生时间，未指定时取自 {@link ApiTimestamps#now()}
  * @param metadata  额外的扩展字段
  * @param <T>       业务数据类型
  */
@@ -22,7 +21,7 @@ public record ApiResponse<T>(
         Map<String, Object> metadata) {
 
     public ApiResponse {
-        timestamp = timestamp == null ? OffsetDateTime.now() : timestamp;
+        timestamp = timestamp == null ? ApiTimestamps.now() : timestamp;
         metadata = metadata == null ? Map.of() : unmodifiableCopy(metadata);
     }
 
@@ -31,11 +30,11 @@ public record ApiResponse<T>(
     }
 
     public static <T> ApiResponse<T> success(T data, Map<String, Object> metadata) {
-        return new ApiResponse<>(true, data, null, OffsetDateTime.now(), metadata);
+        return new ApiResponse<>(true, data, null, ApiTimestamps.now(), metadata);
     }
 
     public static <T> ApiResponse<T> failure(ApiError error) {
-        return new ApiResponse<>(false, null, error, OffsetDateTime.now(), Map.of());
+        return new ApiResponse<>(false, null, error, ApiTimestamps.now(), Map.of());
     }
 
     public static ApiResponse<Void> failure(int status, String code, String message) {
@@ -43,6 +42,7 @@ public record ApiResponse<T>(
     }
 
     private static Map<String, Object> unmodifiableCopy(Map<String, Object> source) {
-        return Map.copyOf(new LinkedHashMap<>(source));
+        // 空 Map 共用同一实例；Map.copyOf 对已不可变的 Map 直接返回原实例
+        return source.isEmpty() ? Map.of() : Map.copyOf(source);
     }
 }
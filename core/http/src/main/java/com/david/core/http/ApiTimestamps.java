@@ -0,0 +1,99 @@
+package com.david.core.http;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * 统一返回结构使用的时间来源与时间戳格式化。
+ *
+ * <p>时间取自 {@link #setClock(Clock)} 注入的时钟，未注入时使用系统默认时区。时钟是进程级的：同一进程内的多个容器
+ * （例如测试上下文缓存中的多个上下文）注入不同的时钟时，以最后注入的为准并记录 WARN 日志；注入方在关闭时调用
+ * {@link #resetClock(Clock)}，恢复为之前注入的时钟。{@link #format(OffsetDateTime)}
+ * 的输出与 {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} 逐字符一致，同一秒内只格式化一次日期与时间部分，
+ * 其余请求只拼接纳秒与偏移量。
+ */
+@Slf4j
+public final class ApiTimestamps {
+
+    private static final Clock SYSTEM_CLOCK = Clock.systemDefaultZone();
+
+    private static volatile Clock clock = SYSTEM_CLOCK;
+
+    /** 按注入顺序排列的时钟，末尾为当前时钟，为空时使用系统时钟。 */
+    private static final Deque<Clock> installed = new ArrayDeque<>();
+
+    private static volatile CachedSecond cachedSecond =
+            new CachedSecond(Long.MIN_VALUE, Integer.MIN_VALUE, "", "");
+
+    private ApiTimestamps() {}
+
+    public static Clock clock() {
+        return clock;
+    }
+
+    /** 注入时钟并作为当前时钟；每次注入对应一次 {@link #resetClock(Clock)}。 */
+    public static synchronized void setClock(Clock clock) {
+        Objects.requireNonNull(clock, "clock");
+        Clock current = installed.peekLast();
+        if (current != null && current != clock) {
+            log.warn("ApiTimestamps 的时钟 {} 被替换为 {}，同一进程内的其他容器也将使用新时钟", current, clock);
+        }
+        installed.addLast(clock);
+        ApiTimestamps.clock = clock;
+    }
+
+    /** 撤销最近一次对 {@code clock} 的注入，当前时钟恢复为仍在生效的最后一次注入，全部撤销后恢复系统时钟。 */
+    public static synchronized void resetClock(Clock clock) {
+        if (installed.removeLastOccurrence(clock)) {
+            Clock current = installed.peekLast();
+            ApiTimestamps.clock = current != null ? current : SYSTEM_CLOCK;
+        }
+    }
+
+    public static OffsetDateTime now() {
+        return OffsetDateTime.now(clock);
+    }
+
+    /** 按 {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} 格式化，纳秒部分去除末尾的 0。 */
+    public static String format(OffsetDateTime timestamp) {
+        long epochSecond = timestamp.toEpochSecond();
+        int offsetSeconds = timestamp.getOffset().getTotalSeconds();
+        CachedSecond cached = cachedSecond;
+        if (cached.epochSecond() != epochSecond || cached.offsetSeconds() != offsetSeconds) {
+            cached =
+                    new CachedSecond(
+                            epochSecond,
+                            offsetSeconds,
+                            DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                                    timestamp.toLocalDateTime().withNano(0)),
+                            timestamp.getOffset().getId());
+            cachedSecond = cached;
+        }
+        int nano = timestamp.getNano();
+        if (nano == 0) {
+            return cached.dateTime() + cached.offset();
+        }
+        int digits = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            digits--;
+        }
+        String fraction = Integer.toString(nano);
+        StringBuilder builder =
+                new StringBuilder(cached.dateTime().length() + 10 + cached.offset().length());
+        builder.append(cached.dateTime()).append('.');
+        for (int i = fraction.length(); i < digits; i++) {
+            builder.append('0');
+        }
+        return builder.append(fraction).append(cached.offset()).toString();
+    }
+
+    private record CachedSecond(
+            long epochSecond, int offsetSeconds, String dateTime, String offset) {}
+}
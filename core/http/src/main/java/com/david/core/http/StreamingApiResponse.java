@@ -0,0 +1,215 @@
+package com.david.core.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializationConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 逐条写出数据的统一返回结构，用于导出等大结果集场景，内存占用与数据量无关。
+ *
+ * <p>两种输出格式：
+ *
+ * <ul>
+ *   <li>JSON：{@code {"timestamp":..,"metadata":{..},"data":[..],"error":null,"isSuccess":true}}，
+ *       字段与 {@link ApiResponse} 相同，只是结果字段放在最后，数据中途出错时尾部写入错误信息并以 {@code
+ *       "isSuccess":false} 结束；
+ *   <li>NDJSON：首行为不含数据的 {@link ApiResponse} 头，其后每行一条数据，中途出错时追加一行 {@link
+ *       ApiResponse#failure(ApiError)}。
+ * </ul>
+ *
+ * <p>序列化使用的 {@link ObjectMapper} 不设默认值：通过注入的 {@link StreamingApiResponseFactory} 创建时
+ * 使用容器中的实例；直接使用静态方法创建时必须调用 {@link #objectMapper(ObjectMapper)}，否则在
+ * {@link #toResponseEntity()} 或写出时抛出 {@link IllegalStateException}。
+ *
+ * <p>每写出 {@link #flushEvery(int)} 条数据刷新一次输出流。数据源在写出结束后关闭；客户端断开等写出异常直接抛出，
+ * 不再写入错误信息。建议通过 {@link #toResponseEntity()} 返回，以带上对应的 {@code Content-Type}。
+ *
+ * @param <T> 数据类型
+ */
+@Slf4j
+public final class StreamingApiResponse<T> implements StreamingResponseBody {
+
+    public static final int DEFAULT_FLUSH_EVERY = 100;
+
+    private static final Function<Throwable, ApiError> DEFAULT_ERROR_MAPPER =
+            ex -> ApiError.of(500, "INTERNAL_SERVER_ERROR", "数据输出中断");
+
+    private final Iterator<? extends T> elements;
+    private final AutoCloseable source;
+    private final boolean ndjson;
+    private Map<String, Object> metadata = Map.of();
+    private int flushEvery = DEFAULT_FLUSH_EVERY;
+    private ObjectMapper objectMapper;
+    private Function<Throwable, ApiError> errorMapper = DEFAULT_ERROR_MAPPER;
+
+    private StreamingApiResponse(
+            Iterator<? extends T> elements, AutoCloseable source, boolean ndjson) {
+        this.elements = Objects.requireNonNull(elements, "elements");
+        this.source = source;
+        this.ndjson = ndjson;
+    }
+
+    public static <T> StreamingApiResponse<T> json(Stream<? extends T> stream) {
+        return new StreamingApiResponse<>(stream.iterator(), stream, false);
+    }
+
+    public static <T> StreamingApiResponse<T> json(Iterator<? extends T> iterator) {
+        return new StreamingApiResponse<>(iterator, closerOf(iterator), false);
+    }
+
+    public static <T> StreamingApiResponse<T> ndjson(Stream<? extends T> stream) {
+        return new StreamingApiResponse<>(stream.iterator(), stream, true);
+    }
+
+    public static <T> StreamingApiResponse<T> ndjson(Iterator<? extends T> iterator) {
+        return new StreamingApiResponse<>(iterator, closerOf(iterator), true);
+    }
+
+    public StreamingApiResponse<T> metadata(Map<String, Object> metadata) {
+        this.metadata = metadata == null || metadata.isEmpty() ? Map.of() : Map.copyOf(metadata);
+        return this;
+    }
+
+    public StreamingApiResponse<T> flushEvery(int flushEvery) {
+        if (flushEvery <= 0) {
+            throw new IllegalArgumentException("flushEvery 必须大于 0: " + flushEvery);
+        }
+        this.flushEvery = flushEvery;
+        return this;
+    }
+
+    public StreamingApiResponse<T> objectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+        return this;
+    }
+
+    /** 数据源抛出异常时写入尾部的错误信息，默认为 500。 */
+    public StreamingApiResponse<T> errorMapper(Function<Throwable, ApiError> errorMapper) {
+        this.errorMapper = Objects.requireNonNull(errorMapper, "errorMapper");
+        return this;
+    }
+
+    public MediaType contentType() {
+        return ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+    }
+
+    public ResponseEntity<StreamingApiResponse<T>> toResponseEntity() {
+        resolveObjectMapper();
+        return ResponseEntity.ok().contentType(contentType()).body(this);
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        ObjectMapper mapper = resolveObjectMapper();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (ndjson) {
+                writeNdjson(generator, mapper);
+            } else {
+                writeJson(generator, mapper);
+            }
+            generator.flush();
+        } finally {
+            closeSource();
+        }
+    }
+
+    private void writeJson(JsonGenerator generator, ObjectMapper mapper) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(name(mapper, "timestamp"));
+        generator.writeObject(ApiTimestamps.now());
+        generator.writeFieldName(name(mapper, "metadata"));
+        generator.writeObject(metadata);
+        generator.writeFieldName(name(mapper, "data"));
+        generator.writeStartArray();
+        Throwable failure = writeElements(generator, false);
+        generator.writeEndArray();
+        generator.writeFieldName(name(mapper, "error"));
+        generator.writeObject(failure != null ? errorMapper.apply(failure) : null);
+        generator.writeFieldName(name(mapper, "isSuccess"));
+        generator.writeBoolean(failure == null);
+        generator.writeEndObject();
+    }
+
+    private void writeNdjson(JsonGenerator generator, ObjectMapper mapper) throws IOException {
+        generator.writeObject(new ApiResponse<>(true, null, null, ApiTimestamps.now(), metadata));
+        generator.writeRaw('\n');
+        Throwable failure = writeElements(generator, true);
+        if (failure != null) {
+            generator.writeObject(ApiResponse.failure(errorMapper.apply(failure)));
+            generator.writeRaw('\n');
+        }
+    }
+
+    /** 逐条写出数据，返回数据源抛出的异常；写出时的异常直接抛出。 */
+    private Throwable writeElements(JsonGenerator generator, boolean lineDelimited)
+            throws IOException {
+        int pending = 0;
+        while (true) {
+            T element;
+            try {
+                if (!elements.hasNext()) {
+                    return null;
+                }
+                element = elements.next();
+            } catch (RuntimeException ex) {
+                log.warn("流式响应的数据源出现异常，已写出错误信息并结束响应", ex);
+                return ex;
+            }
+            generator.writeObject(element);
+            if (lineDelimited) {
+                generator.writeRaw('\n');
+            }
+            if (++pending >= flushEvery) {
+                generator.flush();
+                pending = 0;
+            }
+        }
+    }
+
+    private ObjectMapper resolveObjectMapper() {
+        if (objectMapper == null) {
+            throw new IllegalStateException(
+                    "StreamingApiResponse 未设置 ObjectMapper，"
+                            + "请通过 StreamingApiResponseFactory 创建或调用 objectMapper(ObjectMapper)");
+        }
+        return objectMapper;
+    }
+
+    private static String name(ObjectMapper mapper, String name) {
+        SerializationConfig config = mapper.getSerializationConfig();
+        PropertyNamingStrategy strategy = config.getPropertyNamingStrategy();
+        return strategy != null ? strategy.nameForField(config, null, name) : name;
+    }
+
+    private void closeSource() {
+        if (source == null) {
+            return;
+        }
+        try {
+            source.close();
+        } catch (Exception ex) {
+            log.warn("关闭流式响应的数据源失败", ex);
+        }
+    }
+
+    private static AutoCloseable closerOf(Iterator<?> iterator) {
+        return iterator instanceof AutoCloseable closeable ? closeable : null;
+    }
+}
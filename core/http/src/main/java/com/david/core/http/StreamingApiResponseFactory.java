@@ -0,0 +1,40 @@
+package com.david.core.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 以指定的 {@link ObjectMapper} 创建 {@link StreamingApiResponse}。自动配置以容器中的 {@link ObjectMapper}
+ * 注册为 Bean，控制器注入后使用，输出格式与普通 {@link ApiResponse} 一致：
+ *
+ * <pre>
+ * return streamingApiResponseFactory.ndjson(problemMapper.streamAll()).toResponseEntity();
+ * </pre>
+ */
+public final class StreamingApiResponseFactory {
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingApiResponseFactory(ObjectMapper objectMapper) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper");
+    }
+
+    public <T> StreamingApiResponse<T> json(Stream<? extends T> stream) {
+        return StreamingApiResponse.<T>json(stream).objectMapper(objectMapper);
+    }
+
+    public <T> StreamingApiResponse<T> json(Iterator<? extends T> iterator) {
+        return StreamingApiResponse.<T>json(iterator).objectMapper(objectMapper);
+    }
+
+    public <T> StreamingApiResponse<T> ndjson(Stream<? extends T> stream) {
+        return StreamingApiResponse.<T>ndjson(stream).objectMapper(objectMapper);
+    }
+
+    public <T> StreamingApiResponse<T> ndjson(Iterator<? extends T> iterator) {
+        return StreamingApiResponse.<T>ndjson(iterator).objectMapper(objectMapper);
+    }
+}
@@ -0,0 +1,22 @@
+package com.david.core.http.config;
+
+import com.david.core.http.ApiTimestamps;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Clock;
+
+/** 把容器中的 {@link Clock} 注入 {@link ApiTimestamps}，容器关闭时撤销。 */
+record ApiTimestampsClockInitializer(Clock clock) implements InitializingBean, DisposableBean {
+
+    @Override
+    public void afterPropertiesSet() {
+        ApiTimestamps.setClock(clock);
+    }
+
+    @Override
+    public void destroy() {
+        ApiTimestamps.resetClock(clock);
+    }
+}
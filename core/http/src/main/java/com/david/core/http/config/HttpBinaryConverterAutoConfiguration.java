@@ -0,0 +1,66 @@
+package com.david.core.http.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * 服务间调用的二进制编码：引入 {@code jackson-dataformat-smile} 或 {@code jackson-dataformat-cbor} 后，
+ * {@code Accept} 为 {@code application/x-jackson-smile} 或 {@code application/cbor} 的请求以对应格式输出。
+ *
+ * <p>转换器使用与 JSON 相同的 {@link Jackson2ObjectMapperBuilder} 配置（含 {@link
+ * com.david.core.http.jackson.ApiJacksonModule}），数据结构与 JSON 完全一致。Spring Boot 以同类型替换 Spring
+ * MVC 默认转换器的方式注册它们，顺序仍在 JSON 之后，{@code Accept: *}{@code /*} 的浏览器请求仍得到 JSON。
+ */
+@AutoConfiguration(
+        after = JacksonAutoConfiguration.class,
+        before = HttpMessageConvertersAutoConfiguration.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(Jackson2ObjectMapperBuilder.class)
+@ConditionalOnBean(Jackson2ObjectMapperBuilder.class)
+@ConditionalOnProperty(
+        prefix = "app.http.binary",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class HttpBinaryConverterAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(SmileFactory.class)
+    static class SmileConverterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+                Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2SmileHttpMessageConverter(
+                    builder.factory(new SmileFactory()).build());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(CBORFactory.class)
+    static class CborConverterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+                Jackson2ObjectMapperBuilder builder) {
+            return new MappingJackson2CborHttpMessageConverter(
+                    builder.factory(new CBORFactory()).build());
+        }
+    }
+}
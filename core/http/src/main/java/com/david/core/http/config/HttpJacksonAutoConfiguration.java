@@ -0,0 +1,53 @@
+package com.david.core.http.config;
+
+import com.david.core.http.ApiTimestamps;
+import com.david.core.http.StreamingApiResponseFactory;
+import com.david.core.http.jackson.ApiJacksonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Clock;
+
+/**
+ * 注册统一返回结构的 Jackson 序列化器，Spring Boot 会把 {@link com.fasterxml.jackson.databind.Module} Bean
+ * 加入自动配置的 {@link ObjectMapper}；容器中存在 {@link Clock} 时，返回结构的时间戳改由该时钟产生，
+ * 同一进程内的多个容器使用不同的时钟时以最后启动的为准，见 {@link ApiTimestamps#setClock(Clock)}。
+ */
+@AutoConfiguration(before = JacksonAutoConfiguration.class)
+@ConditionalOnClass(ObjectMapper.class)
+public class HttpJacksonAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiJacksonModule apiJacksonModule() {
+        return new ApiJacksonModule();
+    }
+
+    @Bean
+    @ConditionalOnSingleCandidate(Clock.class)
+    ApiTimestampsClockInitializer apiTimestampsClockInitializer(Clock clock) {
+        return new ApiTimestampsClockInitializer(clock);
+    }
+
+    /** 以容器中的 {@link ObjectMapper} 创建流式返回结构。 */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(StreamingResponseBody.class)
+    static class StreamingApiResponseConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public StreamingApiResponseFactory streamingApiResponseFactory(
+                ObjectProvider<ObjectMapper> objectMapper) {
+            return new StreamingApiResponseFactory(objectMapper.getObject());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.david.core.http.jackson;
+
+import com.david.core.http.ApiError;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/** 按 {@code status, code, message, details} 的顺序直接写出 {@link ApiError}，不经反射。 */
+final class ApiErrorSerializer extends EnvelopeSerializer<ApiError> {
+
+    private final SerializedString status;
+    private final SerializedString code;
+    private final SerializedString message;
+    private final SerializedString details;
+
+    ApiErrorSerializer() {
+        super(ApiError.class);
+        this.status = new SerializedString("status");
+        this.code = new SerializedString("code");
+        this.message = new SerializedString("message");
+        this.details = new SerializedString("details");
+    }
+
+    private ApiErrorSerializer(ApiErrorSerializer source, SerializerProvider provider) {
+        super(source, inclusion(provider, ApiError.class));
+        this.status = name(provider, "status");
+        this.code = name(provider, "code");
+        this.message = name(provider, "message");
+        this.details = name(provider, "details");
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) {
+        return new ApiErrorSerializer(this, provider);
+    }
+
+    @Override
+    public void serialize(ApiError value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(status);
+        generator.writeNumber(value.status());
+        writeString(generator, code, value.code());
+        writeString(generator, message, value.message());
+        writeMap(generator, provider, details, value.details());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,20 @@
+package com.david.core.http.jackson;
+
+import com.david.core.http.ApiError;
+import com.david.core.http.ApiResponse;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * 为 {@link ApiResponse} 与 {@link ApiError} 注册手写序列化器。
+ *
+ * <p>字段名与顺序与 record 默认序列化结果一致，字段名同样遵循 {@code ObjectMapper} 的命名策略与省略规则；
+ * 空 Map 不经 Map 序列化器直接写出。
+ */
+public class ApiJacksonModule extends SimpleModule {
+
+    public ApiJacksonModule() {
+        super("commons-http-api");
+        addSerializer(new ApiResponseSerializer());
+        addSerializer(new ApiErrorSerializer());
+    }
+}
@@ -0,0 +1,111 @@
+package com.david.core.http.jackson;
+
+import com.david.core.http.ApiResponse;
+import com.david.core.http.ApiTimestamps;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+/**
+ * 按 {@code isSuccess, data, error, timestamp, metadata} 的顺序直接写出 {@link ApiResponse}，不经反射。
+ *
+ * <p>{@code ObjectMapper} 对 {@link OffsetDateTime} 使用默认的 ISO-8601 字符串格式时，时间戳由 {@link
+ * ApiTimestamps#format(OffsetDateTime)} 格式化；配置了数值时间戳、上下文时区或自定义格式时交还给原有序列化器，
+ * 输出与未注册本序列化器时一致。
+ */
+final class ApiResponseSerializer extends EnvelopeSerializer<ApiResponse<?>> {
+
+    private final SerializedString isSuccess;
+    private final SerializedString data;
+    private final SerializedString error;
+    private final SerializedString timestamp;
+    private final SerializedString metadata;
+    private final JsonSerializer<Object> timestampSerializer;
+    private final boolean defaultTimestampSerializer;
+
+    ApiResponseSerializer() {
+        super(ApiResponse.class);
+        this.isSuccess = new SerializedString("isSuccess");
+        this.data = new SerializedString("data");
+        this.error = new SerializedString("error");
+        this.timestamp = new SerializedString("timestamp");
+        this.metadata = new SerializedString("metadata");
+        this.timestampSerializer = null;
+        this.defaultTimestampSerializer = false;
+    }
+
+    private ApiResponseSerializer(ApiResponseSerializer source, SerializerProvider provider)
+            throws JsonMappingException {
+        super(source, inclusion(provider, ApiResponse.class));
+        this.isSuccess = name(provider, "isSuccess");
+        this.data = name(provider, "data");
+        this.error = name(provider, "error");
+        this.timestamp = name(provider, "timestamp");
+        this.metadata = name(provider, "metadata");
+        this.timestampSerializer =
+                provider.findPrimaryPropertySerializer(OffsetDateTime.class, null);
+        // 上下文化后的实例总是新对象，以未上下文化的实例及全局格式配置判断是否为默认格式
+        this.defaultTimestampSerializer =
+                (Object) provider.findValueSerializer(OffsetDateTime.class)
+                                == OffsetDateTimeSerializer.INSTANCE
+                        && JsonFormat.Value.empty()
+                                .equals(
+                                        provider.getConfig()
+                                                .getDefaultPropertyFormat(OffsetDateTime.class));
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+            throws JsonMappingException {
+        return new ApiResponseSerializer(this, provider);
+    }
+
+    @Override
+    public void serialize(
+            ApiResponse<?> value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(value);
+        generator.writeFieldName(isSuccess);
+        generator.writeBoolean(value.isSuccess());
+        writeObject(generator, provider, data, value.data());
+        writeObject(generator, provider, error, value.error());
+        writeTimestamp(generator, provider, value.timestamp());
+        writeMap(generator, provider, metadata, value.metadata());
+        generator.writeEndObject();
+    }
+
+    private void writeTimestamp(
+            JsonGenerator generator, SerializerProvider provider, OffsetDateTime value)
+            throws IOException {
+        if (value == null) {
+            writeNull(generator, timestamp);
+            return;
+        }
+        generator.writeFieldName(timestamp);
+        if (isoTimestamps(provider)) {
+            generator.writeString(ApiTimestamps.format(value));
+        } else if (timestampSerializer != null) {
+            timestampSerializer.serialize(value, generator, provider);
+        } else {
+            provider.defaultSerializeValue(value, generator);
+        }
+    }
+
+    /** 与 {@link OffsetDateTimeSerializer} 默认配置的判断一致；特性可随 {@code ObjectWriter} 变化，需每次判断。 */
+    private boolean isoTimestamps(SerializerProvider provider) {
+        return defaultTimestampSerializer
+                && !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                && !(provider.getConfig().hasExplicitTimeZone()
+                        && provider.isEnabled(
+                                SerializationFeature.WRITE_DATES_WITH_CONTEXT_TIME_ZONE));
+    }
+}
@@ -0,0 +1,115 @@
+package com.david.core.http.jackson;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 统一返回结构序列化器的公共部分：字段名在上下文化时按 {@link PropertyNamingStrategy} 换算一次，
+ * 字段的省略规则取自 {@code ObjectMapper} 的默认 {@link JsonInclude.Include} 配置。
+ */
+abstract class EnvelopeSerializer<T> extends StdSerializer<T> implements ContextualSerializer {
+
+    /** 为 {@code true} 时省略值为 {@code null} 的字段。 */
+    protected final boolean skipNulls;
+
+    /** 为 {@code true} 时省略空 Map。 */
+    protected final boolean skipEmpty;
+
+    protected EnvelopeSerializer(Class<?> type) {
+        super(type, false);
+        this.skipNulls = false;
+        this.skipEmpty = false;
+    }
+
+    protected EnvelopeSerializer(EnvelopeSerializer<T> source, JsonInclude.Include inclusion) {
+        super(source);
+        // NON_DEFAULT 对 record 字段没有可比较的默认实例，按 NON_EMPTY 处理
+        this.skipEmpty =
+                inclusion == JsonInclude.Include.NON_EMPTY
+                        || inclusion == JsonInclude.Include.NON_DEFAULT;
+        this.skipNulls =
+                skipEmpty
+                        || inclusion == JsonInclude.Include.NON_NULL
+                        || inclusion == JsonInclude.Include.NON_ABSENT;
+    }
+
+    protected static JsonInclude.Include inclusion(SerializerProvider provider, Class<?> type) {
+        JsonInclude.Value value = provider.getConfig().getDefaultPropertyInclusion(type);
+        return value != null ? value.getValueInclusion() : JsonInclude.Include.ALWAYS;
+    }
+
+    protected static SerializedString name(SerializerProvider provider, String name) {
+        SerializationConfig config = provider.getConfig();
+        PropertyNamingStrategy strategy = config.getPropertyNamingStrategy();
+        return new SerializedString(
+                strategy != null ? strategy.nameForField(config, null, name) : name);
+    }
+
+    /** 空 Map 直接写出 {@code {}}，非空时交给 {@code ObjectMapper} 的 Map 序列化，保留排序等配置。 */
+    protected void writeMap(
+            JsonGenerator generator,
+            SerializerProvider provider,
+            SerializedString name,
+            Map<String, Object> value)
+            throws IOException {
+        if (value == null) {
+            writeNull(generator, name);
+            return;
+        }
+        if (value.isEmpty()) {
+            if (skipEmpty) {
+                return;
+            }
+            generator.writeFieldName(name);
+            generator.writeStartObject();
+            generator.writeEndObject();
+            return;
+        }
+        generator.writeFieldName(name);
+        provider.defaultSerializeValue(value, generator);
+    }
+
+    /** 与 record 字段的 {@code NON_EMPTY} 判断一致，按值的实际序列化器判断是否为空。 */
+    protected void writeObject(
+            JsonGenerator generator, SerializerProvider provider, SerializedString name, Object value)
+            throws IOException {
+        if (value == null) {
+            writeNull(generator, name);
+            return;
+        }
+        if (skipEmpty && provider.findValueSerializer(value.getClass()).isEmpty(provider, value)) {
+            return;
+        }
+        generator.writeFieldName(name);
+        provider.defaultSerializeValue(value, generator);
+    }
+
+    protected void writeString(JsonGenerator generator, SerializedString name, String value)
+            throws IOException {
+        if (value == null) {
+            writeNull(generator, name);
+            return;
+        }
+        if (skipEmpty && value.isEmpty()) {
+            return;
+        }
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    protected void writeNull(JsonGenerator generator, SerializedString name) throws IOException {
+        if (!skipNulls) {
+            generator.writeFieldName(name);
+            generator.writeNull();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.david.core.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+class ApiTimestampsTest {
+
+    private static final List<Integer> NANOS =
+            List.of(
+                    0, 1, 10, 100, 120_000, 1_000_000, 100_000_000, 123_456_789, 999_999_999,
+                    500_000_000);
+
+    private static final List<ZoneOffset> OFFSETS =
+            List.of(
+                    ZoneOffset.UTC,
+                    ZoneOffset.ofHours(8),
+                    ZoneOffset.ofHoursMinutes(-3, -30),
+                    ZoneOffset.ofHoursMinutes(5, 45),
+                    ZoneOffset.ofHoursMinutesSeconds(1, 2, 3),
+                    ZoneOffset.MAX,
+                    ZoneOffset.MIN);
+
+    private static final List<LocalDateTime> DATE_TIMES =
+            List.of(
+                    LocalDateTime.of(2024, 2, 29, 23, 59, 59),
+                    LocalDateTime.of(1970, 1, 1, 0, 0),
+                    LocalDateTime.of(1, 1, 1, 0, 0, 1),
+                    LocalDateTime.of(10_000, 12, 31, 12, 30));
+
+    @Test
+    void formatMatchesIsoOffsetDateTime() {
+        for (LocalDateTime dateTime : DATE_TIMES) {
+            for (ZoneOffset offset : OFFSETS) {
+                // 同一秒内连续格式化不同纳秒，覆盖缓存命中的路径
+                for (int nano : NANOS) {
+                    OffsetDateTime timestamp = OffsetDateTime.of(dateTime.withNano(nano), offset);
+                    assertThat(ApiTimestamps.format(timestamp))
+                            .isEqualTo(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(timestamp));
+                }
+            }
+        }
+    }
+
+    @Test
+    void sameInstantWithDifferentOffsetsIsNotServedFromCache() {
+        OffsetDateTime utc = OffsetDateTime.of(2024, 3, 1, 0, 0, 0, 5, ZoneOffset.UTC);
+        OffsetDateTime shanghai = utc.withOffsetSameInstant(ZoneOffset.ofHours(8));
+
+        assertThat(ApiTimestamps.format(utc)).isEqualTo("2024-03-01T00:00:00.000000005Z");
+        assertThat(ApiTimestamps.format(shanghai)).isEqualTo("2024-03-01T08:00:00.000000005+08:00");
+    }
+
+    @Test
+    void lastInstalledClockWinsAndPreviousIsRestoredOnReset() {
+        Clock first = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        Clock second = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        Clock system = ApiTimestamps.clock();
+
+        ApiTimestamps.setClock(first);
+        try {
+            ApiTimestamps.setClock(second);
+            try {
+                assertThat(ApiTimestamps.clock()).isSameAs(second);
+                assertThat(ApiTimestamps.now().getYear()).isEqualTo(2025);
+            } finally {
+                ApiTimestamps.resetClock(second);
+            }
+            assertThat(ApiTimestamps.clock()).isSameAs(first);
+        } finally {
+            ApiTimestamps.resetClock(first);
+        }
+        assertThat(ApiTimestamps.clock()).isSameAs(system);
+    }
+
+    @Test
+    void closingOutOfOrderKeepsTheLatestClock() {
+        Clock first = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        Clock second = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneId.of("UTC"));
+        Clock system = ApiTimestamps.clock();
+
+        ApiTimestamps.setClock(first);
+        ApiTimestamps.setClock(second);
+        ApiTimestamps.resetClock(first);
+        assertThat(ApiTimestamps.clock()).isSameAs(second);
+
+        ApiTimestamps.resetClock(second);
+        assertThat(ApiTimestamps.clock()).isSameAs(system);
+    }
+}
@@ -0,0 +1,124 @@
+package com.david.core.http.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.david.core.http.ApiError;
+import com.david.core.http.ApiResponse;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/** 注册 {@link ApiJacksonModule} 前后，同一配置下的输出必须逐字节一致。 */
+class ApiJacksonModuleTest {
+
+    private static final OffsetDateTime TIMESTAMP =
+            OffsetDateTime.of(2024, 3, 1, 8, 15, 30, 123_450_000, ZoneOffset.ofHours(8));
+
+    private static final List<Object> VALUES =
+            List.of(
+                    new ApiResponse<>(
+                            true,
+                            new Problem(42L, "Two Sum", List.of("array", "hash-table")),
+                            null,
+                            TIMESTAMP,
+                            Map.of("traceId", "abc", "page", 2)),
+                    new ApiResponse<>(
+                            true, Map.of("userId", 7), null, TIMESTAMP.withNano(0), Map.of()),
+                    new ApiResponse<>(true, List.of(), null, TIMESTAMP, Map.of()),
+                    new ApiResponse<>(true, "", null, TIMESTAMP, Map.of()),
+                    new ApiResponse<>(
+                            false,
+                            null,
+                            ApiError.of(404, "NOT_FOUND", "", Map.of("problemId", 42)),
+                            TIMESTAMP.withOffsetSameInstant(ZoneOffset.UTC),
+                            Map.of()),
+                    ApiError.of(400, "BAD_REQUEST", "参数错误"),
+                    new ApiError(500, null, null, Map.of()));
+
+    static Stream<Arguments> configurations() {
+        return Stream.of(
+                configuration("jackson defaults", builder -> builder),
+                configuration("spring boot defaults", builder -> iso(builder)),
+                configuration(
+                        "snake case",
+                        builder ->
+                                iso(builder)
+                                        .propertyNamingStrategy(
+                                                PropertyNamingStrategies.SNAKE_CASE)),
+                configuration(
+                        "non null",
+                        builder -> iso(builder).serializationInclusion(Include.NON_NULL)),
+                configuration(
+                        "non empty",
+                        builder -> iso(builder).serializationInclusion(Include.NON_EMPTY)),
+                configuration(
+                        "dates as timestamps",
+                        builder -> builder.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)),
+                configuration(
+                        "dates as millisecond timestamps",
+                        builder ->
+                                builder.enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                                        .disable(
+                                                SerializationFeature
+                                                        .WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)),
+                configuration(
+                        "time zone",
+                        builder ->
+                                iso(builder)
+                                        .defaultTimeZone(
+                                                TimeZone.getTimeZone("America/New_York"))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("configurations")
+    void outputMatchesRecordSerialization(
+            String name, UnaryOperator<JsonMapper.Builder> customizer) throws Exception {
+        JsonMapper plain =
+                customizer.apply(JsonMapper.builder().addModule(new JavaTimeModule())).build();
+        JsonMapper envelope =
+                customizer
+                        .apply(
+                                JsonMapper.builder()
+                                        .addModule(new JavaTimeModule())
+                                        .addModule(new ApiJacksonModule()))
+                        .build();
+
+        for (Object value : VALUES) {
+            assertThat(json(envelope.writeValueAsBytes(value)))
+                    .as("%s", value)
+                    .isEqualTo(json(plain.writeValueAsBytes(value)));
+        }
+    }
+
+    private static Arguments configuration(
+            String name, UnaryOperator<JsonMapper.Builder> customizer) {
+        return Arguments.of(name, customizer);
+    }
+
+    /** 与 Spring Boot 的默认配置一致，时间戳写为 ISO-8601 字符串。 */
+    private static JsonMapper.Builder iso(JsonMapper.Builder builder) {
+        return builder.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /** 按 UTF-8 还原以便失败时比较差异，字符串相等即字节相等。 */
+    private static String json(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    record Problem(long id, String title, List<String> tags) {}
+}
@@ -0,0 +1,24 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+import java.util.List;
+
+/**
+ * 在 {@link BaseMapper} 之上提供多行 {@code VALUES} 的批量写入，SQL 由 {@link BatchSqlInjector} 注入。
+ *
+ * <p>单条语句的大小受数据库包大小限制，大批量数据应通过 {@link BatchWriter} 分块写入。
+ *
+ * @param <T> 实体类型
+ */
+public interface BatchMapper<T> extends BaseMapper<T> {
+
+    /** 以一条多行 {@code INSERT} 写入全部实体，自增主键会回填到实体上。 */
+    int insertBatch(List<T> entityList);
+
+    /**
+     * 以一条多行 {@code INSERT ... ON DUPLICATE KEY UPDATE}（PostgreSQL 为 {@code ON CONFLICT ... DO UPDATE}）写入，
+     * 主键或唯一键冲突时更新除主键、仅插入时填充字段与逻辑删除字段以外的列，版本字段加一；不回填自增主键；方言不支持时不注入该方法。
+     */
+    int upsertBatch(List<T> entityList);
+}
@@ -0,0 +1,23 @@
+package com.david.core.mybatis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/** {@link BatchWriter} 分块写入的外部化参数。 */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.mybatis.batch")
+public class BatchProperties {
+
+    /** 每条多行语句的最大行数。 */
+    private int chunkSize = 1_000;
+
+    /** 数据库允许的最大包大小，应与 MySQL 的 {@code max_allowed_packet} 一致，默认取 MySQL 5.7 的默认值。 */
+    private DataSize maxPacketSize = DataSize.ofMegabytes(4);
+
+    /** {@code BATCH} 执行器攒够多少条语句后发送一次。 */
+    private int chunksPerFlush = 16;
+}
@@ -0,0 +1,219 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.toolkit.sql.SqlScriptUtils;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * 为继承 {@link BatchMapper} 的 Mapper 注入 {@code insertBatch} 与 {@code upsertBatch}，其余方法与 {@link
+ * DefaultSqlInjector} 相同。
+ *
+ * <p>插入列的取舍与 {@code BaseMapper#insert} 保持一致：插入策略为 {@code NEVER} 的字段与仅在更新时填充的字段不插入；
+ * 多行语句无法逐行省略列，按 {@code NOT_NULL}、{@code NOT_EMPTY} 策略本应省略的值写为 {@code DEFAULT}，由列默认值
+ * 生效，逻辑删除与乐观锁版本字段未赋值时同样取列默认值。
+ *
+ * <p>{@code upsertBatch} 支持 MySQL、MariaDB（{@code ON DUPLICATE KEY UPDATE}）与 PostgreSQL（{@code ON CONFLICT}），
+ * 其他方言、没有主键的实体以及 PostgreSQL 下使用自增主键的实体不注入该方法。冲突时不更新逻辑删除字段，版本字段加一；
+ * 与 {@code updateById} 不同，写为 {@code DEFAULT} 的列会被更新为列默认值而不是保留原值。
+ */
+public class BatchSqlInjector extends DefaultSqlInjector {
+
+    private static final String ENTITY = "et";
+
+    private final DbType dbType;
+
+    public BatchSqlInjector(DbType dbType) {
+        this.dbType = Objects.requireNonNull(dbType, "dbType");
+    }
+
+    @Override
+    public List<AbstractMethod> getMethodList(
+            Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methods = super.getMethodList(configuration, mapperClass, tableInfo);
+        if (!BatchMapper.class.isAssignableFrom(mapperClass)) {
+            return methods;
+        }
+        methods = new ArrayList<>(methods);
+        methods.add(new InsertBatch(null));
+        // PostgreSQL 以主键判断冲突，自增主键不在插入列中，无法做 upsert
+        boolean conflictOnKey =
+                dbType != DbType.POSTGRE_SQL || tableInfo.getIdType() != IdType.AUTO;
+        if (tableInfo.havePK() && conflictOnKey && upsertClause(dbType, tableInfo) != null) {
+            methods.add(new InsertBatch(dbType));
+        }
+        return methods;
+    }
+
+    /** 返回冲突时的更新子句，方言不支持时返回 {@code null}。 */
+    private static String upsertClause(DbType dbType, TableInfo tableInfo) {
+        StringJoiner assignments = new StringJoiner(",");
+        for (TableFieldInfo field : updatableFields(tableInfo)) {
+            String column = field.getColumn();
+            switch (dbType) {
+                case MYSQL, MARIADB ->
+                        assignments.add(
+                                field.isVersion()
+                                        ? column + "=" + column + "+1"
+                                        : column + "=VALUES(" + column + ")");
+                case POSTGRE_SQL ->
+                        assignments.add(
+                                field.isVersion()
+                                        ? column
+                                                + "="
+                                                + unqualified(tableInfo.getTableName())
+                                                + "."
+                                                + column
+                                                + "+1"
+                                        : column + "=EXCLUDED." + column);
+                default -> {
+                    return null;
+                }
+            }
+        }
+        // 除主键外没有可更新的列时，冲突即忽略
+        return switch (dbType) {
+            case MYSQL, MARIADB ->
+                    assignments.length() == 0
+                            ? " ON DUPLICATE KEY UPDATE "
+                                    + tableInfo.getKeyColumn()
+                                    + "="
+                                    + tableInfo.getKeyColumn()
+                            : " ON DUPLICATE KEY UPDATE " + assignments;
+            case POSTGRE_SQL ->
+                    assignments.length() == 0
+                            ? " ON CONFLICT (" + tableInfo.getKeyColumn() + ") DO NOTHING"
+                            : " ON CONFLICT ("
+                                    + tableInfo.getKeyColumn()
+                                    + ") DO UPDATE SET "
+                                    + assignments;
+            default -> null;
+        };
+    }
+
+    /** 写入 {@code INSERT} 的字段，对应 {@code BaseMapper#insert} 可能插入的列。 */
+    private static List<TableFieldInfo> insertableFields(TableInfo tableInfo) {
+        List<TableFieldInfo> fields = new ArrayList<>();
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            if (field.getInsertStrategy() != FieldStrategy.NEVER
+                    && field.getFieldFill() != FieldFill.UPDATE) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /** 冲突时更新的字段：插入列中除仅插入时填充、更新策略为 {@code NEVER} 与逻辑删除以外的字段。 */
+    private static List<TableFieldInfo> updatableFields(TableInfo tableInfo) {
+        List<TableFieldInfo> fields = new ArrayList<>();
+        for (TableFieldInfo field : insertableFields(tableInfo)) {
+            if (field.getFieldFill() != FieldFill.INSERT
+                    && field.getUpdateStrategy() != FieldStrategy.NEVER
+                    && !field.isLogicDelete()) {
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    /** 字段在一行 {@code VALUES} 中的取值，插入时可省略的空值写为 {@code DEFAULT}。 */
+    private static String insertValue(TableFieldInfo field) {
+        String property = ENTITY + "." + field.getProperty();
+        String param = SqlScriptUtils.safeParam(property, field.getMapping());
+        FieldStrategy strategy = field.getInsertStrategy();
+        // 自动填充的字段由 MetaObjectHandler 赋值，IGNORED（3.5.4 起为 ALWAYS）要求原样写入 null
+        if (field.getFieldFill() == FieldFill.INSERT
+                || field.getFieldFill() == FieldFill.INSERT_UPDATE
+                || strategy == FieldStrategy.IGNORED
+                || "ALWAYS".equals(strategy.name())) {
+            return param;
+        }
+        String present = property + " != null";
+        if (strategy == FieldStrategy.NOT_EMPTY && field.isCharSequence()) {
+            present += " and " + property + " != ''";
+        }
+        return "<choose><when test=\""
+                + present
+                + "\">"
+                + param
+                + "</when><otherwise>DEFAULT</otherwise></choose>";
+    }
+
+    /** PostgreSQL 在 {@code ON CONFLICT} 中以不带模式的表名引用已有行。 */
+    private static String unqualified(String tableName) {
+        return tableName.substring(tableName.lastIndexOf('.') + 1);
+    }
+
+    /** 多行 INSERT；{@code upsertDbType} 不为 {@code null} 时追加冲突更新子句并注入为 {@code upsertBatch}。 */
+    private static final class InsertBatch extends AbstractMethod {
+
+        private final DbType upsertDbType;
+
+        InsertBatch(DbType upsertDbType) {
+            super(upsertDbType == null ? "insertBatch" : "upsertBatch");
+            this.upsertDbType = upsertDbType;
+        }
+
+        @Override
+        public MappedStatement injectMappedStatement(
+                Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+            StringJoiner columns = new StringJoiner(",", "(", ")");
+            StringJoiner values = new StringJoiner(",", "(", ")");
+            boolean autoIncrement = tableInfo.havePK() && tableInfo.getIdType() == IdType.AUTO;
+            if (tableInfo.havePK() && !autoIncrement) {
+                columns.add(tableInfo.getKeyColumn());
+                values.add(SqlScriptUtils.safeParam(ENTITY + "." + tableInfo.getKeyProperty()));
+            }
+            for (TableFieldInfo field : insertableFields(tableInfo)) {
+                columns.add(field.getColumn());
+                values.add(insertValue(field));
+            }
+            String sql =
+                    "<script>INSERT INTO "
+                            + tableInfo.getTableName()
+                            + " "
+                            + columns
+                            + " VALUES "
+                            + SqlScriptUtils.convertForeach(
+                                    values.toString(), "list", null, ENTITY, ",")
+                            + (upsertDbType == null ? "" : upsertClause(upsertDbType, tableInfo))
+                            + "</script>";
+            SqlSource sqlSource = languageDriver.createSqlSource(configuration, sql, modelClass);
+
+            KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+            String keyProperty = null;
+            String keyColumn = null;
+            // ON DUPLICATE KEY UPDATE 的生成键只对应实际插入或变更的行，无法按位置回填，upsert 不回填主键
+            if (autoIncrement && upsertDbType == null) {
+                keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+                keyProperty = tableInfo.getKeyProperty();
+                keyColumn = tableInfo.getKeyColumn();
+            }
+            return addInsertMappedStatement(
+                    mapperClass,
+                    modelClass,
+                    methodName,
+                    sqlSource,
+                    keyGenerator,
+                    keyProperty,
+                    keyColumn);
+        }
+    }
+}
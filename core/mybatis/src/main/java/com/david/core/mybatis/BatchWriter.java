@@ -0,0 +1,130 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * 大批量写入：把实体按行数与估算的语句大小切分为多块，每块以 {@link BatchMapper} 的一条多行语句写入，并通过 {@code BATCH}
+ * 执行器攒批发送。
+ *
+ * <p>单块的估算大小不超过 {@code maxPacketBytes} 的四分之三，为语句本身与协议开销留出余量；估算按客户端预处理语句（MySQL
+ * Connector/J 默认）把参数展开为字面量计算，偏保守。存在 Spring 事务时复用事务连接，异常时由外层事务回滚；否则按连接的
+ * 自动提交设置逐条生效。
+ */
+public class BatchWriter {
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final int chunkSize;
+    private final long maxChunkBytes;
+    private final int chunksPerFlush;
+
+    /**
+     * @param chunkSize      每条语句的最大行数
+     * @param maxPacketBytes 数据库允许的最大包大小，对应 MySQL 的 {@code max_allowed_packet}
+     * @param chunksPerFlush 攒够多少条语句后发送一次
+     */
+    public BatchWriter(
+            SqlSessionFactory sqlSessionFactory,
+            int chunkSize,
+            long maxPacketBytes,
+            int chunksPerFlush) {
+        if (chunkSize <= 0 || maxPacketBytes <= 0 || chunksPerFlush <= 0) {
+            throw new IllegalArgumentException("chunkSize、maxPacketBytes 与 chunksPerFlush 必须大于 0");
+        }
+        this.sqlSessionFactory = Objects.requireNonNull(sqlSessionFactory, "sqlSessionFactory");
+        this.chunkSize = chunkSize;
+        this.maxChunkBytes = maxPacketBytes / 4 * 3;
+        this.chunksPerFlush = chunksPerFlush;
+    }
+
+    /** 分块执行 {@link BatchMapper#insertBatch(List)}，返回写入的实体数。 */
+    public <T> int insertBatch(
+            Class<? extends BatchMapper<T>> mapperType, Collection<? extends T> entities) {
+        return execute(mapperType, entities, BatchMapper::insertBatch);
+    }
+
+    /** 分块执行 {@link BatchMapper#upsertBatch(List)}，返回写入的实体数。 */
+    public <T> int upsertBatch(
+            Class<? extends BatchMapper<T>> mapperType, Collection<? extends T> entities) {
+        return execute(mapperType, entities, BatchMapper::upsertBatch);
+    }
+
+    private <T> int execute(
+            Class<? extends BatchMapper<T>> mapperType,
+            Collection<? extends T> entities,
+            BiConsumer<BatchMapper<T>, List<T>> write) {
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            BatchMapper<T> mapper = session.getMapper(mapperType);
+            TableInfo tableInfo = null;
+            // BATCH 执行器在发送前持有参数引用，每块使用新的列表
+            List<T> chunk = new ArrayList<>(Math.min(chunkSize, entities.size()));
+            long chunkBytes = 0;
+            int pending = 0;
+            for (T entity : entities) {
+                if (tableInfo == null) {
+                    tableInfo = TableInfoHelper.getTableInfo(entity.getClass());
+                    if (tableInfo == null) {
+                        throw new IllegalStateException("未找到实体的表信息: " + entity.getClass().getName());
+                    }
+                }
+                long rowBytes = estimateRowBytes(tableInfo, entity);
+                if (!chunk.isEmpty()
+                        && (chunk.size() >= chunkSize || chunkBytes + rowBytes > maxChunkBytes)) {
+                    write.accept(mapper, chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                    chunkBytes = 0;
+                    if (++pending >= chunksPerFlush) {
+                        session.flushStatements();
+                        pending = 0;
+                    }
+                }
+                chunk.add(entity);
+                chunkBytes += rowBytes;
+            }
+            write.accept(mapper, chunk);
+            session.flushStatements();
+            session.commit();
+            return entities.size();
+        }
+    }
+
+    /** 估算一行在 {@code VALUES} 中展开为字面量后的字节数。 */
+    private static long estimateRowBytes(TableInfo tableInfo, Object entity) {
+        long bytes = 3;
+        if (tableInfo.havePK()) {
+            bytes += estimateValueBytes(tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty()));
+        }
+        for (TableFieldInfo field : tableInfo.getFieldList()) {
+            bytes += estimateValueBytes(tableInfo.getPropertyValue(entity, field.getProperty()));
+        }
+        return bytes;
+    }
+
+    private static long estimateValueBytes(Object value) {
+        if (value == null) {
+            return 5;
+        }
+        if (value instanceof CharSequence text) {
+            // UTF-8 下 BMP 字符最多 3 字节，另加引号、转义与分隔符的余量
+            return text.length() * 3L + 8;
+        }
+        if (value instanceof byte[] binary) {
+            return binary.length * 2L + 8;
+        }
+        return 40;
+    }
+}
@@ -0,0 +1,74 @@
+package com.david.core.mybatis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 分页计数结果的缓存，按语句、规范化后的 SQL 与参数值区分，条目到期后失效。
+ *
+ * <p>所有条目的有效期相同，写入顺序即过期顺序：写入时从队首移除已过期的条目，超出上限时继续移除最早写入的条目。每个条目只出队一次，
+ * 清理开销摊到每次写入上是常数，不会在缓存已满时反复扫描全表。
+ */
+final class CountCache {
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Written> writes = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    CountCache(Duration ttl, int maxEntries) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("countCacheTtl 必须大于 0: " + ttl);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /** 返回未过期的计数，不存在时返回 {@code null}。 */
+    Long get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() >= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.total();
+    }
+
+    void put(Key key, long total) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        Entry entry = new Entry(total, now + ttlNanos);
+        entries.put(key, entry);
+        writes.add(new Written(key, entry));
+        expire(now);
+    }
+
+    void clear() {
+        entries.clear();
+        writes.clear();
+    }
+
+    private void expire(long now) {
+        Written head;
+        while ((head = writes.peek()) != null
+                && (now - head.entry().expiresAt() >= 0 || entries.size() > maxEntries)) {
+            // 条目已被覆盖或在读取时移除的，只出队不删除
+            if (writes.remove(head)) {
+                entries.remove(head.key(), head.entry());
+            }
+        }
+    }
+
+    record Key(String statementId, String sql, List<Object> parameters) {}
+
+    private record Entry(long total, long expiresAt) {}
+
+    private record Written(Key key, Entry entry) {}
+}
@@ -0,0 +1,17 @@
+package com.david.core.mybatis;
+
+/** 分页查询获取总数的方式。 */
+public enum CountMode {
+
+    /** 每次执行 {@code COUNT(*)}，MyBatis-Plus 的默认行为。 */
+    EXACT,
+
+    /** 执行 {@code COUNT(*)} 并按语句、SQL 与参数缓存结果，在缓存有效期内复用。 */
+    CACHED,
+
+    /** 读取 {@code EXPLAIN} 的行数估算值，低于阈值或数据库不支持时退回精确计数。 */
+    ESTIMATED,
+
+    /** 不计数，多取一条记录判断是否还有下一页，仅能通过 {@link CountingPage} 按查询指定。 */
+    HAS_NEXT
+}
@@ -0,0 +1,270 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.CollectionUtils;
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 在 {@link PaginationInnerInterceptor} 之上按 {@link CountMode} 选择计数方式，列表接口不必每次为精确总数执行
+ * {@code COUNT(*)}。
+ *
+ * <ul>
+ *   <li>{@link CountMode#EXACT}：与父类一致。
+ *   <li>{@link CountMode#CACHED}：按语句 id、规范化 SQL 与参数值缓存计数，缓存有效期内数据变化不会反映到总数上。
+ *   <li>{@link CountMode#ESTIMATED}：执行 {@code EXPLAIN} 读取优化器的行数估算，目前仅支持 MySQL/MariaDB，按
+ *       {@link PaginationProperties#getDbType()} 判断，MariaDB 使用 {@code EXPLAIN EXTENDED} 以取得
+ *       {@code filtered} 列；其他方言、{@code EXPLAIN} 执行失败或结果中缺少所需的列时改为精确计数。
+ *   <li>{@link CountMode#HAS_NEXT}：不计数，分页 SQL 多取一条，由 {@link CountingPage} 截取并判断是否有下一页。
+ * </ul>
+ */
+@Slf4j
+public class CountStrategyPaginationInnerInterceptor extends PaginationInnerInterceptor {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final CountMode defaultCountMode;
+    private final CountCache countCache;
+    private final long estimateThreshold;
+    /** 估算所用的 {@code EXPLAIN} 前缀，不支持估算的方言为 {@code null}。 */
+    private final String explain;
+
+    public CountStrategyPaginationInnerInterceptor(PaginationProperties properties) {
+        super(properties.getDbType());
+        if (properties.getCountMode() == CountMode.HAS_NEXT) {
+            throw new IllegalArgumentException("HAS_NEXT 需通过 CountingPage 按查询指定，不能作为默认计数方式");
+        }
+        this.defaultCountMode = properties.getCountMode();
+        this.countCache =
+                new CountCache(properties.getCountCacheTtl(), properties.getCountCacheMaxEntries());
+        this.estimateThreshold = properties.getEstimateThreshold();
+        // MariaDB 的 EXPLAIN 默认不输出 filtered 列
+        this.explain =
+                properties.getDbType() == DbType.MYSQL
+                        ? "EXPLAIN "
+                        : properties.getDbType() == DbType.MARIADB ? "EXPLAIN EXTENDED " : null;
+    }
+
+    /** 清空计数缓存，批量写入后希望总数立即生效时调用。 */
+    public void clearCountCache() {
+        countCache.clear();
+    }
+
+    @Override
+    public boolean willDoQuery(
+            Executor executor,
+            MappedStatement ms,
+            Object parameter,
+            RowBounds rowBounds,
+            ResultHandler resultHandler,
+            BoundSql boundSql)
+            throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null || page.getSize() < 0 || !page.searchCount()) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        switch (countMode(page)) {
+            case HAS_NEXT:
+                return true;
+            case CACHED:
+                return cachedCount(executor, ms, parameter, rowBounds, resultHandler, boundSql, page);
+            case ESTIMATED:
+                Long estimate = estimateCount(executor, ms, parameter, boundSql);
+                if (estimate != null && estimate >= estimateThreshold) {
+                    page.setTotal(estimate);
+                    if (page instanceof CountingPage<?> countingPage) {
+                        countingPage.setTotalExact(false);
+                    }
+                    return continuePage(page);
+                }
+                return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+            default:
+                return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+    }
+
+    @Override
+    public void beforeQuery(
+            Executor executor,
+            MappedStatement ms,
+            Object parameter,
+            RowBounds rowBounds,
+            ResultHandler resultHandler,
+            BoundSql boundSql)
+            throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page == null || page.getSize() < 0 || countMode(page) != CountMode.HAS_NEXT) {
+            super.beforeQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+            return;
+        }
+        String sql = boundSql.getSql();
+        if (CollectionUtils.isNotEmpty(page.orders())) {
+            sql = concatOrderBy(sql, page.orders());
+        }
+        handlerLimit(page, page.maxLimit() != null ? page.maxLimit() : getMaxLimit());
+        // offset 按原始 size 计算，只把取数上限加一
+        DialectModel model =
+                findIDialect(executor).buildPaginationSql(sql, page.offset(), page.getSize() + 1);
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = new ArrayList<>(mpBoundSql.parameterMappings());
+        model.consumers(mappings, ms.getConfiguration(), mpBoundSql.additionalParameters());
+        mpBoundSql.sql(model.getDialectSql());
+        mpBoundSql.parameterMappings(mappings);
+    }
+
+    private CountMode countMode(IPage<?> page) {
+        if (page instanceof CountingPage<?> countingPage && countingPage.getCountMode() != null) {
+            return countingPage.getCountMode();
+        }
+        return defaultCountMode;
+    }
+
+    private boolean cachedCount(
+            Executor executor,
+            MappedStatement ms,
+            Object parameter,
+            RowBounds rowBounds,
+            ResultHandler resultHandler,
+            BoundSql boundSql,
+            IPage<?> page)
+            throws SQLException {
+        CountCache.Key key =
+                new CountCache.Key(
+                        ms.getId(),
+                        WHITESPACE.matcher(boundSql.getSql()).replaceAll(" ").trim(),
+                        parameterValues(ms.getConfiguration(), parameter, boundSql));
+        Long total = countCache.get(key);
+        if (total != null) {
+            page.setTotal(total);
+            return continuePage(page);
+        }
+        boolean proceed = super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        countCache.put(key, page.getTotal());
+        return proceed;
+    }
+
+    /** 按 {@code DefaultParameterHandler} 的规则取出各占位符对应的参数值。 */
+    private static List<Object> parameterValues(
+            Configuration configuration, Object parameter, BoundSql boundSql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        if (mappings == null || mappings.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Object> values = new ArrayList<>(mappings.size());
+        MetaObject metaObject = null;
+        for (ParameterMapping mapping : mappings) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            if (boundSql.hasAdditionalParameter(property)) {
+                values.add(boundSql.getAdditionalParameter(property));
+            } else if (parameter == null) {
+                values.add(null);
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                values.add(parameter);
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                values.add(metaObject.getValue(property));
+            }
+        }
+        return values;
+    }
+
+    /** 返回 MySQL/MariaDB {@code EXPLAIN} 估算的结果行数，不支持、执行失败或没有可用的估算时返回 {@code null}。 */
+    private Long estimateCount(
+            Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql) {
+        if (explain == null) {
+            return null;
+        }
+        try {
+            return explain(executor, ms, parameter, boundSql);
+        } catch (SQLException ex) {
+            log.debug("{} 的 EXPLAIN 估算失败，改为精确计数", ms.getId(), ex);
+            return null;
+        }
+    }
+
+    private Long explain(
+            Executor executor, MappedStatement ms, Object parameter, BoundSql boundSql)
+            throws SQLException {
+        Connection connection = executor.getTransaction().getConnection();
+        BoundSql explainSql =
+                new BoundSql(
+                        ms.getConfiguration(),
+                        explain + boundSql.getSql(),
+                        boundSql.getParameterMappings(),
+                        parameter);
+        PluginUtils.mpBoundSql(boundSql).additionalParameters().forEach(explainSql::setAdditionalParameter);
+        try (PreparedStatement statement = connection.prepareStatement(explainSql.getSql())) {
+            ms.getConfiguration()
+                    .newParameterHandler(ms, parameter, explainSql)
+                    .setParameters(statement);
+            try (ResultSet rs = statement.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int idColumn = column(metaData, "id");
+                int rowsColumn = column(metaData, "rows");
+                int filteredColumn = column(metaData, "filtered");
+                if (idColumn == 0 || rowsColumn == 0) {
+                    return null;
+                }
+                // 最外层查询块（id = 1）各表按嵌套循环连接，结果行数取各表 rows × filtered 的乘积
+                double estimate = 1;
+                boolean found = false;
+                while (rs.next()) {
+                    if (rs.getLong(idColumn) != 1) {
+                        continue;
+                    }
+                    long rows = rs.getLong(rowsColumn);
+                    if (rs.wasNull()) {
+                        continue;
+                    }
+                    double filtered = filteredColumn != 0 ? rs.getDouble(filteredColumn) : 100;
+                    if (rs.wasNull()) {
+                        filtered = 100;
+                    }
+                    estimate *= rows * filtered / 100;
+                    found = true;
+                }
+                return found ? Math.round(estimate) : null;
+            }
+        }
+    }
+
+    /** 按列名查找列序号，不区分大小写，不存在时返回 0。 */
+    private static int column(ResultSetMetaData metaData, String label) throws SQLException {
+        for (int i = 1, count = metaData.getColumnCount(); i <= count; i++) {
+            if (label.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
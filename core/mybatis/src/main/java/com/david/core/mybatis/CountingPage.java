@@ -0,0 +1,77 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 可指定计数方式的分页参数，未指定时使用 {@code app.mybatis.pagination.count-mode}。
+ *
+ * <p>{@link CountMode#HAS_NEXT} 下查询多取一条，{@link #setRecords(List)} 截取本页数据，{@link #getTotal()}
+ * 为已知记录数的下界（有下一页时多计一条），因此 Mapper 方法须以 {@code IPage} 作为返回值。
+ *
+ * @param <T> 记录类型
+ */
+public class CountingPage<T> extends Page<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CountMode countMode;
+    private boolean totalExact = true;
+    private boolean hasNextPage;
+
+    public CountingPage(long current, long size) {
+        this(current, size, null);
+    }
+
+    public CountingPage(long current, long size, CountMode countMode) {
+        super(current, size);
+        this.countMode = countMode;
+        if (countMode == CountMode.HAS_NEXT) {
+            this.totalExact = false;
+        }
+    }
+
+    /** 不计数，仅判断是否还有下一页。 */
+    public static <T> CountingPage<T> hasNextOnly(long current, long size) {
+        return new CountingPage<>(current, size, CountMode.HAS_NEXT);
+    }
+
+    /** 以 {@code EXPLAIN} 估算总数。 */
+    public static <T> CountingPage<T> estimated(long current, long size) {
+        return new CountingPage<>(current, size, CountMode.ESTIMATED);
+    }
+
+    /** 指定的计数方式，{@code null} 表示使用全局配置。 */
+    public CountMode getCountMode() {
+        return countMode;
+    }
+
+    /** 总数是否为精确值；为估算值或 {@link CountMode#HAS_NEXT} 下的下界时返回 {@code false}。 */
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    void setTotalExact(boolean totalExact) {
+        this.totalExact = totalExact;
+    }
+
+    @Override
+    public CountingPage<T> setRecords(List<T> records) {
+        if (countMode != CountMode.HAS_NEXT || records == null || getSize() < 0) {
+            super.setRecords(records);
+            return this;
+        }
+        hasNextPage = records.size() > getSize();
+        List<T> page = hasNextPage ? new ArrayList<>(records.subList(0, (int) getSize())) : records;
+        super.setRecords(page);
+        setTotal(offset() + page.size() + (hasNextPage ? 1 : 0));
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return countMode == CountMode.HAS_NEXT ? hasNextPage : super.hasNext();
+    }
+}
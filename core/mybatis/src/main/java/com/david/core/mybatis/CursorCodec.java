@@ -0,0 +1,144 @@
+package com.david.core.mybatis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * 游标的编码与解码：依次写出版本、排序方向、排序列签名与按类型标记的各个值，再做 Base64URL 编码，对客户端不透明。
+ *
+ * <p>排序方向与排序列签名用于拒绝其他排序方式生成的游标。解码结果直接作为 JDBC 参数绑定，时间类型解码为 JDBC 4.2 支持的类型。
+ */
+final class CursorCodec {
+
+    private static final byte VERSION = 2;
+
+    private static final byte ASCENDING = 'A';
+    private static final byte DESCENDING = 'D';
+
+    private static final char LONG = 'L';
+    private static final char DECIMAL = 'D';
+    private static final char STRING = 'S';
+    private static final char LOCAL_DATE_TIME = 'T';
+    private static final char LOCAL_DATE = 'A';
+    private static final char OFFSET_DATE_TIME = 'O';
+    private static final char INSTANT = 'I';
+
+    private CursorCodec() {}
+
+    /**
+     * @param descending 是否降序
+     * @param columns    排序列签名，见 {@link CursorPage.Order}
+     */
+    static String encode(boolean descending, int columns, Object... values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeByte(descending ? DESCENDING : ASCENDING);
+            out.writeInt(columns);
+            out.writeByte(values.length);
+            for (Object value : values) {
+                write(out, value);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * @throws IllegalArgumentException 游标格式不正确或版本不受支持时
+     */
+    static Cursor decode(String cursor) {
+        try (DataInputStream in =
+                new DataInputStream(
+                        new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            byte direction = in.readByte();
+            if (direction != ASCENDING && direction != DESCENDING) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            int columns = in.readInt();
+            int count = in.readUnsignedByte();
+            if (count == 0 || count > 2) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            Object[] values = new Object[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = read(in);
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("无效的游标");
+            }
+            return new Cursor(direction == DESCENDING, columns, values);
+        } catch (IOException | RuntimeException ex) {
+            if (ex instanceof IllegalArgumentException illegal && "无效的游标".equals(ex.getMessage())) {
+                throw illegal;
+            }
+            throw new IllegalArgumentException("无效的游标", ex);
+        }
+    }
+
+    private static void write(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            throw new IllegalStateException("游标分页的排序列与主键不能为 null");
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            out.writeChar(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeChar(DECIMAL);
+            out.writeUTF(decimal.toPlainString());
+        } else if (value instanceof CharSequence text) {
+            out.writeChar(STRING);
+            out.writeUTF(text.toString());
+        } else if (value instanceof LocalDateTime dateTime) {
+            out.writeChar(LOCAL_DATE_TIME);
+            out.writeUTF(dateTime.toString());
+        } else if (value instanceof LocalDate date) {
+            out.writeChar(LOCAL_DATE);
+            out.writeUTF(date.toString());
+        } else if (value instanceof OffsetDateTime dateTime) {
+            out.writeChar(OFFSET_DATE_TIME);
+            out.writeUTF(dateTime.toString());
+        } else if (value instanceof Instant instant) {
+            out.writeChar(INSTANT);
+            out.writeUTF(instant.toString());
+        } else if (value instanceof Date date) {
+            out.writeChar(INSTANT);
+            out.writeUTF(date.toInstant().toString());
+        } else {
+            throw new IllegalStateException("游标分页不支持的排序值类型: " + value.getClass().getName());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        char type = in.readChar();
+        return switch (type) {
+            case LONG -> in.readLong();
+            case DECIMAL -> new BigDecimal(in.readUTF());
+            case STRING -> in.readUTF();
+            case LOCAL_DATE_TIME -> LocalDateTime.parse(in.readUTF());
+            case LOCAL_DATE -> LocalDate.parse(in.readUTF());
+            case OFFSET_DATE_TIME -> OffsetDateTime.parse(in.readUTF());
+            case INSTANT -> Timestamp.from(Instant.parse(in.readUTF()));
+            default -> throw new IllegalArgumentException("无效的游标");
+        };
+    }
+
+    /** 解码后的游标，{@code values} 依次为排序列（如有）与主键的值。 */
+    record Cursor(boolean descending, int columns, Object[] values) {}
+}
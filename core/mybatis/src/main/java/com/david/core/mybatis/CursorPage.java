@@ -0,0 +1,229 @@
+package com.david.core.mybatis;
+
+import com.david.core.exception.CommonErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * 游标（keyset）分页的请求与结果。
+ *
+ * <p>作为 Mapper 方法的参数传入后，{@link KeysetPaginationInnerInterceptor} 把查询改写为 {@code WHERE
+ * 排序列 >= ? AND (排序列 > ? OR 主键 > ?) ORDER BY 排序列, 主键}，并按方言只取 {@code size + 1} 条，查询耗时与翻页深度无关。
+ * 查询返回后调用 {@link #complete(List)} 截取本页数据并生成下一页游标：
+ *
+ * <pre>
+ * private static final CursorPage.Order&lt;Problem&gt; NEWEST_FIRST =
+ *         CursorPage.Order.by("created_at", Problem::getCreatedAt, "id", Problem::getId).descending();
+ *
+ * CursorPage&lt;Problem&gt; page = CursorPage.of(cursor, 20, NEWEST_FIRST);
+ * page.complete(problemMapper.selectByCursor(page, query));
+ * return ApiResponse.success(page.getRecords(), page.metadata());
+ * </pre>
+ *
+ * <p>排序列与主键列均不能为 {@code null}，且二者组合必须唯一；游标由服务端生成，客户端应原样传回。游标中记录了排序方向与排序列，
+ * 无法解析或由其他排序方式生成的游标在 {@link #of} 中以 400 {@link com.david.core.exception.BusinessException} 拒绝。
+ * 游标只做编码与校验和、没有签名，客户端可以构造指向任意位置的合法游标，它只用于定位翻页位置，查询的可见范围必须由原查询的条件限定。
+ *
+ * @param <T> 记录类型
+ */
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 1000;
+
+    /** {@link #metadata()} 中下一页游标的键。 */
+    public static final String NEXT_CURSOR = "nextCursor";
+
+    /** {@link #metadata()} 中是否还有下一页的键。 */
+    public static final String HAS_NEXT = "hasNext";
+
+    private final int size;
+    private final String cursor;
+    private final Order<T> order;
+    private final Object[] cursorValues;
+    private List<T> records = Collections.emptyList();
+    private String nextCursor;
+
+    private CursorPage(String cursor, int size, Order<T> order) {
+        if (size <= 0 || size > MAX_SIZE) {
+            throw CommonErrorCode.BAD_REQUEST.exception("size 必须在 1~" + MAX_SIZE + " 之间: " + size);
+        }
+        this.size = size;
+        this.order = Objects.requireNonNull(order, "order");
+        this.cursor = cursor == null || cursor.isBlank() ? null : cursor;
+        this.cursorValues = this.cursor == null ? null : decode(this.cursor, order);
+    }
+
+    /**
+     * @param cursor 上一页返回的游标，为空时查询第一页
+     * @param size   每页条数，1~{@value #MAX_SIZE}
+     * @throws com.david.core.exception.BusinessException 400，size 超出范围、游标无法解析或与 {@code order} 不一致时
+     */
+    public static <T> CursorPage<T> of(String cursor, int size, Order<T> order) {
+        return new CursorPage<>(cursor, size, order);
+    }
+
+    private static Object[] decode(String cursor, Order<?> order) {
+        CursorCodec.Cursor decoded;
+        try {
+            decoded = CursorCodec.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw CommonErrorCode.BAD_REQUEST.exception("无效的游标");
+        }
+        if (decoded.descending() != order.descending
+                || decoded.columns() != order.columns
+                || decoded.values().length != (order.sortKey != null ? 2 : 1)) {
+            throw CommonErrorCode.BAD_REQUEST.exception("游标与当前排序方式不匹配");
+        }
+        return decoded.values();
+    }
+
+    /**
+     * 以查询结果填充本页：查询多取了一条用于判断是否还有下一页，这里截取前 {@code size} 条，并由最后一条生成下一页游标。
+     */
+    public CursorPage<T> complete(List<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            this.records = Collections.emptyList();
+            this.nextCursor = null;
+            return this;
+        }
+        boolean hasNext = rows.size() > size;
+        List<T> page = hasNext ? rows.subList(0, size) : rows;
+        this.records = Collections.unmodifiableList(new ArrayList<>(page));
+        this.nextCursor = hasNext ? order.encode(page.get(page.size() - 1)) : null;
+        return this;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+
+    /** 下一页游标，没有下一页时为 {@code null}。 */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /** 放入 {@code ApiResponse.metadata} 的分页信息。 */
+    public Map<String, Object> metadata() {
+        Map<String, Object> metadata = new LinkedHashMap<>(4);
+        metadata.put(HAS_NEXT, hasNext());
+        if (nextCursor != null) {
+            metadata.put(NEXT_CURSOR, nextCursor);
+        }
+        return metadata;
+    }
+
+    /** 仅按主键分页时为 {@code null}。 */
+    String sortColumn() {
+        return order.sortColumn;
+    }
+
+    String idColumn() {
+        return order.idColumn;
+    }
+
+    boolean isDescending() {
+        return order.descending;
+    }
+
+    /** 游标中的值，依次为排序列（如有）与主键；第一页为 {@code null}。 */
+    Object[] cursorValues() {
+        return cursorValues;
+    }
+
+    /**
+     * 游标分页的排序方式：排序列（可选）与主键列，以及读取其值的函数。不可变，可声明为常量复用。
+     *
+     * @param <T> 记录类型
+     */
+    public static final class Order<T> {
+
+        private final String sortColumn;
+        private final Function<? super T, ?> sortKey;
+        private final String idColumn;
+        private final Function<? super T, ?> id;
+        private final boolean descending;
+        private final int columns;
+
+        private Order(
+                String sortColumn,
+                Function<? super T, ?> sortKey,
+                String idColumn,
+                Function<? super T, ?> id,
+                boolean descending) {
+            this.sortColumn = sortColumn;
+            this.sortKey = sortKey;
+            this.idColumn = Objects.requireNonNull(idColumn, "idColumn");
+            this.id = Objects.requireNonNull(id, "id");
+            this.descending = descending;
+            this.columns = signature(sortColumn, idColumn);
+        }
+
+        /**
+         * 按排序列与主键排序。
+         *
+         * @param sortColumn SQL 中的排序列
+         * @param sortKey    从记录中读取排序列的值
+         * @param idColumn   SQL 中的主键列
+         * @param id         从记录中读取主键的值
+         */
+        public static <T> Order<T> by(
+                String sortColumn,
+                Function<? super T, ?> sortKey,
+                String idColumn,
+                Function<? super T, ?> id) {
+            return new Order<>(
+                    Objects.requireNonNull(sortColumn, "sortColumn"),
+                    Objects.requireNonNull(sortKey, "sortKey"),
+                    idColumn,
+                    id,
+                    false);
+        }
+
+        /** 仅按主键排序。 */
+        public static <T> Order<T> byId(String idColumn, Function<? super T, ?> id) {
+            return new Order<>(null, null, idColumn, id, false);
+        }
+
+        /** 返回降序的排序方式。 */
+        public Order<T> descending() {
+            return new Order<>(sortColumn, sortKey, idColumn, id, true);
+        }
+
+        private String encode(T last) {
+            return sortKey != null
+                    ? CursorCodec.encode(descending, columns, sortKey.apply(last), id.apply(last))
+                    : CursorCodec.encode(descending, columns, id.apply(last));
+        }
+
+        /** 排序列与主键列名的 CRC32，游标中只记录签名，不暴露列名。 */
+        private static int signature(String sortColumn, String idColumn) {
+            CRC32 crc = new CRC32();
+            if (sortColumn != null) {
+                crc.update(sortColumn.getBytes(StandardCharsets.UTF_8));
+            }
+            crc.update(0);
+            crc.update(idColumn.getBytes(StandardCharsets.UTF_8));
+            return (int) crc.getValue();
+        }
+    }
+}
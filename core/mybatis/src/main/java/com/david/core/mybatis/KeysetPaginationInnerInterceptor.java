@@ -0,0 +1,218 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectFactory;
+import com.baomidou.mybatisplus.extension.plugins.pagination.DialectModel;
+import com.baomidou.mybatisplus.extension.plugins.pagination.dialects.IDialect;
+
+import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.ExpressionVisitorAdapter;
+import net.sf.jsqlparser.expression.JdbcParameter;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.expression.operators.conditional.OrExpression;
+import net.sf.jsqlparser.expression.operators.relational.ComparisonOperator;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThan;
+import net.sf.jsqlparser.expression.operators.relational.GreaterThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.MinorThan;
+import net.sf.jsqlparser.expression.operators.relational.MinorThanEquals;
+import net.sf.jsqlparser.expression.operators.relational.ParenthesedExpressionList;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 游标（keyset）分页拦截器：Mapper 方法参数中含有 {@link CursorPage} 时，在原查询的 WHERE 上追加游标条件，并把
+ * ORDER BY 与分页子句替换为按排序列、主键排序并多取一条；分页子句由 {@link PaginationProperties#getDbType()}
+ * 对应的方言生成，与 {@link CountStrategyPaginationInnerInterceptor} 一致。
+ *
+ * <p>游标条件展开为 {@code 排序列 >= ? AND (排序列 > ? OR 主键 > ?)}，而不是行构造器 {@code (排序列, 主键) > (?, ?)}：
+ * MySQL 对行构造器比较不一定使用索引范围扫描，展开后的第一项保证能利用 {@code (排序列, 主键)} 联合索引。
+ *
+ * <p>仅支持单个 SELECT；原查询的 WHERE 之后（GROUP BY、HAVING、ORDER BY、LIMIT）不能含有参数占位符，否则改写后参数顺序无法保证。
+ */
+public class KeysetPaginationInnerInterceptor implements InnerInterceptor {
+
+    private static final String PARAMETER_PREFIX = "mybatis_keyset_";
+
+    private final IDialect dialect;
+
+    public KeysetPaginationInnerInterceptor(DbType dbType) {
+        this.dialect = DialectFactory.getDialect(Objects.requireNonNull(dbType, "dbType"));
+    }
+
+    @Override
+    public void beforeQuery(
+            Executor executor,
+            MappedStatement ms,
+            Object parameter,
+            RowBounds rowBounds,
+            ResultHandler resultHandler,
+            BoundSql boundSql) {
+        CursorPage<?> page = findPage(parameter);
+        if (page == null) {
+            return;
+        }
+        PlainSelect select = parseSelect(ms, boundSql.getSql());
+
+        List<Object> values = new ArrayList<>(4);
+        Expression keyset = keysetCondition(page, values);
+        if (keyset != null) {
+            Expression where = select.getWhere();
+            select.setWhere(
+                    where == null
+                            ? keyset
+                            : new AndExpression(new ParenthesedExpressionList<>(where), keyset));
+        }
+
+        List<OrderByElement> orderBy = new ArrayList<>(2);
+        if (page.sortColumn() != null) {
+            orderBy.add(orderByElement(page.sortColumn(), page.isDescending()));
+        }
+        orderBy.add(orderByElement(page.idColumn(), page.isDescending()));
+        select.setOrderByElements(orderBy);
+
+        select.setLimit(null);
+        select.setOffset(null);
+        select.setFetch(null);
+
+        PluginUtils.MPBoundSql mpBoundSql = PluginUtils.mpBoundSql(boundSql);
+        List<ParameterMapping> mappings = new ArrayList<>(mpBoundSql.parameterMappings());
+        for (int i = 0; i < values.size(); i++) {
+            String name = PARAMETER_PREFIX + i;
+            mappings.add(new ParameterMapping.Builder(ms.getConfiguration(), name, Object.class).build());
+            boundSql.setAdditionalParameter(name, values.get(i));
+        }
+        // 分页参数追加在游标参数之后，由方言决定 LIMIT、FETCH FIRST 或 ROWNUM 等写法
+        DialectModel model = dialect.buildPaginationSql(select.toString(), 0, page.getSize() + 1L);
+        model.consumers(mappings, ms.getConfiguration(), mpBoundSql.additionalParameters());
+        mpBoundSql.sql(model.getDialectSql());
+        mpBoundSql.parameterMappings(mappings);
+    }
+
+    private static CursorPage<?> findPage(Object parameter) {
+        if (parameter instanceof CursorPage<?> page) {
+            return page;
+        }
+        if (parameter instanceof Map<?, ?> map) {
+            for (Object value : map.values()) {
+                if (value instanceof CursorPage<?> page) {
+                    return page;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static PlainSelect parseSelect(MappedStatement ms, String sql) {
+        Statement statement;
+        try {
+            statement = JsqlParserGlobal.parse(sql);
+        } catch (JSQLParserException ex) {
+            throw new IllegalStateException("游标分页无法解析 SQL: " + ms.getId(), ex);
+        }
+        if (!(statement instanceof PlainSelect select)) {
+            throw new IllegalStateException("游标分页仅支持单个 SELECT 语句: " + ms.getId());
+        }
+        if (hasParameterAfterWhere(select)) {
+            throw new IllegalStateException("游标分页要求 WHERE 之后的子句不含参数占位符: " + ms.getId());
+        }
+        return select;
+    }
+
+    /** 遍历 GROUP BY、HAVING、ORDER BY、LIMIT、OFFSET、FETCH 的表达式树查找 {@link JdbcParameter}。 */
+    static boolean hasParameterAfterWhere(PlainSelect select) {
+        List<Expression> clauses = new ArrayList<>();
+        if (select.getGroupBy() != null) {
+            clauses.add(select.getGroupBy().getGroupByExpressionList());
+        }
+        clauses.add(select.getHaving());
+        if (select.getOrderByElements() != null) {
+            for (OrderByElement element : select.getOrderByElements()) {
+                clauses.add(element.getExpression());
+            }
+        }
+        if (select.getLimit() != null) {
+            clauses.add(select.getLimit().getRowCount());
+            clauses.add(select.getLimit().getOffset());
+        }
+        if (select.getOffset() != null) {
+            clauses.add(select.getOffset().getOffset());
+        }
+        if (select.getFetch() != null) {
+            clauses.add(select.getFetch().getExpression());
+        }
+        ParameterFinder finder = new ParameterFinder();
+        for (Expression clause : clauses) {
+            if (clause != null && !finder.found) {
+                clause.accept(finder, null);
+            }
+        }
+        return finder.found;
+    }
+
+    /** 第一页返回 {@code null}；否则按参数出现顺序把游标值加入 {@code values}。 */
+    private static Expression keysetCondition(CursorPage<?> page, List<Object> values) {
+        Object[] cursor = page.cursorValues();
+        if (cursor == null) {
+            return null;
+        }
+        boolean descending = page.isDescending();
+        Column id = new Column(page.idColumn());
+        if (page.sortColumn() == null) {
+            values.add(cursor[0]);
+            return compare(descending ? new MinorThan() : new GreaterThan(), id);
+        }
+        Column sort = new Column(page.sortColumn());
+        values.add(cursor[0]);
+        values.add(cursor[0]);
+        values.add(cursor[1]);
+        Expression bound = compare(descending ? new MinorThanEquals() : new GreaterThanEquals(), sort);
+        Expression after =
+                new OrExpression(
+                        compare(descending ? new MinorThan() : new GreaterThan(), sort),
+                        compare(descending ? new MinorThan() : new GreaterThan(), id));
+        return new AndExpression(bound, new ParenthesedExpressionList<>(after));
+    }
+
+    private static Expression compare(ComparisonOperator operator, Column column) {
+        operator.setLeftExpression(column);
+        operator.setRightExpression(new JdbcParameter());
+        return operator;
+    }
+
+    private static OrderByElement orderByElement(String column, boolean descending) {
+        OrderByElement element = new OrderByElement();
+        element.setExpression(new Column(column));
+        element.setAsc(!descending);
+        element.setAscDescPresent(descending);
+        return element;
+    }
+
+    private static final class ParameterFinder extends ExpressionVisitorAdapter<Void> {
+
+        private boolean found;
+
+        @Override
+        public <S> Void visit(JdbcParameter parameter, S context) {
+            found = true;
+            return null;
+        }
+    }
+}
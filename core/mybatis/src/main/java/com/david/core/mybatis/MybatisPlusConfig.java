@@ -1,19 +1,57 @@
 package com.david.core.mybatis;
 
-import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.injector.ISqlInjector;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 
+import org.apache.ibatis.session.SqlSessionFactory;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
+@AutoConfiguration
 @AutoConfigureOrder
+@ConditionalOnClass(MybatisPlusInterceptor.class)
+@EnableConfigurationProperties({PaginationProperties.class, BatchProperties.class})
 public class MybatisPlusConfig {
 
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    @ConditionalOnMissingBean
+    public CountStrategyPaginationInnerInterceptor countStrategyPaginationInnerInterceptor(
+            PaginationProperties paginationProperties) {
+        return new CountStrategyPaginationInnerInterceptor(paginationProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MybatisPlusInterceptor mybatisPlusInterceptor(
+            CountStrategyPaginationInnerInterceptor paginationInnerInterceptor,
+            PaginationProperties paginationProperties) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
-        interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        interceptor.addInnerInterceptor(
+                new KeysetPaginationInnerInterceptor(paginationProperties.getDbType()));
+        interceptor.addInnerInterceptor(paginationInnerInterceptor);
         return interceptor;
     }
+
+    @Bean
+    @ConditionalOnMissingBean(ISqlInjector.class)
+    public BatchSqlInjector batchSqlInjector(PaginationProperties paginationProperties) {
+        return new BatchSqlInjector(paginationProperties.getDbType());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(SqlSessionFactory.class)
+    public BatchWriter batchWriter(SqlSessionFactory sqlSessionFactory, BatchProperties batchProperties) {
+        return new BatchWriter(
+                sqlSessionFactory,
+                batchProperties.getChunkSize(),
+                batchProperties.getMaxPacketSize().toBytes(),
+                batchProperties.getChunksPerFlush());
+    }
 }
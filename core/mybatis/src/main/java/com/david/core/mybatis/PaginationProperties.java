@@ -0,0 +1,32 @@
+package com.david.core.mybatis;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** 分页查询的方言与计数策略的外部化参数。 */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.mybatis.pagination")
+public class PaginationProperties {
+
+    /** 数据库方言，用于生成分页 SQL 与批量 upsert 语句。 */
+    private DbType dbType = DbType.MYSQL;
+
+    /** 未通过 {@link CountingPage} 指定时的计数方式，不能为 {@link CountMode#HAS_NEXT}。 */
+    private CountMode countMode = CountMode.EXACT;
+
+    /** {@link CountMode#CACHED} 下计数结果的缓存时长。 */
+    private Duration countCacheTtl = Duration.ofSeconds(30);
+
+    /** 计数缓存的最大条目数，超出时淘汰最早写入的条目。 */
+    private int countCacheMaxEntries = 10_000;
+
+    /** {@link CountMode#ESTIMATED} 下估算值低于该阈值时改为精确计数，小表的估算误差较大且精确计数代价很低。 */
+    private long estimateThreshold = 1_000;
+}
@@ -0,0 +1,74 @@
+package com.david.core.mybatis;
+
+import java.util.function.Supplier;
+
+/**
+ * 读写分离的线程上下文。
+ *
+ * <p>{@link ReadWriteRoutingInterceptor} 在非事务的 SELECT 执行期间进入读作用域，{@link ReadWriteRoutingDataSource}
+ * 在作用域内获取的连接来自从库；{@link #onPrimary(Supplier)} 与 {@link UsePrimary} 在作用域内强制使用主库。
+ */
+public final class ReadWriteRouting {
+
+    private static final ThreadLocal<int[]> PRIMARY_DEPTH = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> READ_HINT = new ThreadLocal<>();
+
+    private ReadWriteRouting() {}
+
+    /** 在主库上执行，作用域内的查询可以读到刚写入的数据，可嵌套。 */
+    public static <T> T onPrimary(Supplier<T> action) {
+        enterPrimary();
+        try {
+            return action.get();
+        } finally {
+            exitPrimary();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(
+                () -> {
+                    action.run();
+                    return null;
+                });
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_DEPTH.get() != null;
+    }
+
+    static void enterPrimary() {
+        int[] depth = PRIMARY_DEPTH.get();
+        if (depth == null) {
+            PRIMARY_DEPTH.set(new int[] {1});
+        } else {
+            depth[0]++;
+        }
+    }
+
+    static void exitPrimary() {
+        int[] depth = PRIMARY_DEPTH.get();
+        if (depth != null && --depth[0] <= 0) {
+            PRIMARY_DEPTH.remove();
+        }
+    }
+
+    /** 进入读作用域，返回进入前是否已在读作用域内，须在 {@code finally} 中传给 {@link #exitRead(boolean)}。 */
+    static boolean enterRead() {
+        if (READ_HINT.get() != null) {
+            return true;
+        }
+        READ_HINT.set(Boolean.TRUE);
+        return false;
+    }
+
+    static void exitRead(boolean previous) {
+        if (!previous) {
+            READ_HINT.remove();
+        }
+    }
+
+    static boolean isReadRequested() {
+        return READ_HINT.get() != null;
+    }
+}
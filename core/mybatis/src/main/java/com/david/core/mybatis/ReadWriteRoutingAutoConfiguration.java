@@ -0,0 +1,154 @@
+package com.david.core.mybatis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+/**
+ * 读写分离：{@code app.mybatis.routing.enabled=true} 时以 {@code spring.datasource} 为主库、{@code
+ * app.mybatis.routing.replicas} 为从库构建 {@link ReadWriteRoutingDataSource}，并以 {@link
+ * LazyConnectionDataSourceProxy} 包装后作为主 {@link DataSource}，取代 Spring Boot 默认的数据源。
+ *
+ * <p>主库与各从库都按 Spring Boot 的方式绑定所用连接池的 {@code spring.datasource.<pool>} 参数（如 {@code
+ * spring.datasource.hikari.*}），其中不应配置连接地址与账号，否则会覆盖从库的设置；配置了池名时，从库的 Hikari 池名为主库池名加
+ * {@code -replica-<序号>}。
+ *
+ * <p>{@link ReadWriteRoutingInterceptor} 注册为 MyBatis 插件；{@link UsePrimary} 标注的方法在强制主库的作用域内执行。
+ */
+@Slf4j
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass({LazyConnectionDataSourceProxy.class, DataSourceBuilder.class})
+@ConditionalOnProperty(prefix = "app.mybatis.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ReadWriteRoutingProperties.class})
+public class ReadWriteRoutingAutoConfiguration {
+
+    private static final String HIKARI = "com.zaxxer.hikari.HikariDataSource";
+
+    /** 连接池实现与 Spring Boot 绑定其参数的前缀，对应 {@code DataSourceConfiguration} 中的各连接池配置。 */
+    private static final Map<String, String> POOL_PREFIXES =
+            Map.of(
+                    HIKARI, "spring.datasource.hikari",
+                    "org.apache.tomcat.jdbc.pool.DataSource", "spring.datasource.tomcat",
+                    "org.apache.commons.dbcp2.BasicDataSource", "spring.datasource.dbcp2",
+                    "oracle.ucp.jdbc.PoolDataSourceImpl", "spring.datasource.oracleucp");
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            DataSourceProperties dataSourceProperties,
+            ReadWriteRoutingProperties properties,
+            Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        if (StringUtils.hasText(dataSourceProperties.getName())) {
+            setPoolName(primary, dataSourceProperties.getName());
+        }
+        bindPool(primary, binder);
+        String poolName =
+                binder.bind(POOL_PREFIXES.get(HIKARI) + ".pool-name", String.class)
+                        .orElse(dataSourceProperties.getName());
+
+        List<DataSource> replicas = new ArrayList<>(properties.getReplicas().size());
+        for (ReadWriteRoutingProperties.Replica replica : properties.getReplicas()) {
+            DataSourceBuilder<?> builder =
+                    DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                            .type(dataSourceProperties.getType())
+                            .url(replica.getUrl())
+                            .username(
+                                    replica.getUsername() != null
+                                            ? replica.getUsername()
+                                            : dataSourceProperties.determineUsername())
+                            .password(
+                                    replica.getPassword() != null
+                                            ? replica.getPassword()
+                                            : dataSourceProperties.determinePassword());
+            if (replica.getDriverClassName() != null) {
+                builder.driverClassName(replica.getDriverClassName());
+            }
+            DataSource dataSource = builder.build();
+            bindPool(dataSource, binder);
+            // 沿用主库的池名会使 JMX 注册冲突
+            if (StringUtils.hasText(poolName)) {
+                setPoolName(dataSource, poolName + "-replica-" + replicas.size());
+            }
+            replicas.add(dataSource);
+        }
+        if (replicas.isEmpty()) {
+            log.warn("已启用读写分离但未配置从库，所有查询仍走主库");
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, properties.getBalancer());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReadWriteRoutingInterceptor readWriteRoutingInterceptor() {
+        return new ReadWriteRoutingInterceptor();
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor usePrimaryAdvisor() {
+        ComposablePointcut pointcut =
+                new ComposablePointcut(new AnnotationMatchingPointcut(UsePrimary.class, true))
+                        .union(AnnotationMatchingPointcut.forMethodAnnotation(UsePrimary.class));
+        MethodInterceptor interceptor =
+                invocation -> {
+                    ReadWriteRouting.enterPrimary();
+                    try {
+                        return invocation.proceed();
+                    } finally {
+                        ReadWriteRouting.exitPrimary();
+                    }
+                };
+        return new DefaultPointcutAdvisor(pointcut, interceptor);
+    }
+
+    /** 绑定连接池自身的参数，未知的连接池实现不做处理。 */
+    private static void bindPool(DataSource dataSource, Binder binder) {
+        String prefix = POOL_PREFIXES.get(dataSource.getClass().getName());
+        if (prefix != null) {
+            binder.bind(prefix, Bindable.ofInstance(dataSource));
+        }
+    }
+
+    private static void setPoolName(DataSource dataSource, String poolName) {
+        if (HIKARI.equals(dataSource.getClass().getName())) {
+            new Binder(new MapConfigurationPropertySource(Map.of("pool.pool-name", poolName)))
+                    .bind("pool", Bindable.ofInstance(dataSource));
+        }
+    }
+}
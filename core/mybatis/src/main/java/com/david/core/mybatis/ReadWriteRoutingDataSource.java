@@ -0,0 +1,166 @@
+package com.david.core.mybatis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+/**
+ * 读写分离数据源：获取连接时按 {@link ReadWriteRouting} 的上下文在主库与从库之间选择。
+ *
+ * <ul>
+ *   <li>强制主库作用域内、读写事务内（含非只读的事务同步作用域），以及读作用域外的连接都来自主库。
+ *   <li>只读事务与读作用域内的连接按 {@link Balancer} 选择从库，从库获取连接失败时退回主库。
+ * </ul>
+ *
+ * <p>事务管理器在开启事务时就会获取连接，此时事务的只读属性尚未绑定到线程，应以 {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 包装后再交给事务管理器与 MyBatis 使用。
+ *
+ * <p>主库与从库的连接池由本类持有，不是容器中的 Bean：Spring Boot 的连接池指标（{@code hikaricp.*}）与
+ * {@code db} 健康检查只能看到本数据源本身，看不到各个连接池；需要时自行为 {@link #getPrimary()} 与
+ * {@link #getReplicas()} 注册指标与健康检查。
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final Balancer balancer;
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicIntegerArray inFlight;
+
+    public ReadWriteRoutingDataSource(
+            DataSource primary, List<DataSource> replicas, Balancer balancer) {
+        this.primary = Objects.requireNonNull(primary, "primary");
+        this.replicas = List.copyOf(replicas);
+        this.balancer = Objects.requireNonNull(balancer, "balancer");
+        this.inFlight = new AtomicIntegerArray(this.replicas.size());
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /** 当前从各从库借出且未关闭的连接数，仅 {@link Balancer#LEAST_IN_FLIGHT} 下统计。 */
+    public int inFlight(int replica) {
+        return inFlight.get(replica);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!routeToReplica()) {
+            return primary.getConnection();
+        }
+        int replica = selectReplica();
+        Connection connection;
+        try {
+            connection = replicas.get(replica).getConnection();
+        } catch (SQLException ex) {
+            log.warn("从库 #{} 获取连接失败，本次读取改用主库: {}", replica, ex.getMessage());
+            return primary.getConnection();
+        }
+        return balancer == Balancer.LEAST_IN_FLIGHT ? tracked(connection, replica) : connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void close() throws Exception {
+        closeIfPossible(primary);
+        for (DataSource replica : replicas) {
+            closeIfPossible(replica);
+        }
+    }
+
+    private boolean routeToReplica() {
+        if (replicas.isEmpty() || ReadWriteRouting.isPrimaryForced()) {
+            return false;
+        }
+        // 事务与仅有事务同步的作用域都会把连接绑定到线程并被后续语句复用，只有声明为只读时才能使用从库
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isSynchronizationActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+        return ReadWriteRouting.isReadRequested();
+    }
+
+    private int selectReplica() {
+        int size = replicas.size();
+        int start = (int) Math.floorMod(next.getAndIncrement(), (long) size);
+        if (balancer == Balancer.ROUND_ROBIN || size == 1) {
+            return start;
+        }
+        // 从轮询位置开始找借出连接最少的从库，连接数相同的从库之间仍然轮询
+        int selected = start;
+        int least = inFlight.get(start);
+        for (int i = 1; i < size && least > 0; i++) {
+            int candidate = (start + i) % size;
+            int count = inFlight.get(candidate);
+            if (count < least) {
+                selected = candidate;
+                least = count;
+            }
+        }
+        return selected;
+    }
+
+    private Connection tracked(Connection connection, int replica) {
+        inFlight.incrementAndGet(replica);
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        (proxy, method, args) -> {
+                            if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                                return proxy == args[0];
+                            }
+                            if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                                return System.identityHashCode(proxy);
+                            }
+                            if ("close".equals(method.getName())
+                                    && method.getParameterCount() == 0
+                                    && closed.compareAndSet(false, true)) {
+                                inFlight.decrementAndGet(replica);
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException ex) {
+                                throw ex.getTargetException();
+                            }
+                        });
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /** 从库的选择方式。 */
+    public enum Balancer {
+        /** 依次轮询。 */
+        ROUND_ROBIN,
+        /** 选择当前借出连接最少的从库，适合从库规格或延迟不一致的情况。 */
+        LEAST_IN_FLIGHT
+    }
+}
@@ -0,0 +1,90 @@
+package com.david.core.mybatis;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+
+/**
+ * 读写分离拦截器：事务与事务同步之外的 SELECT 语句在读作用域内执行，其间获取的连接由 {@link ReadWriteRoutingDataSource}
+ * 分配到从库。
+ *
+ * <p>作用域包住整个 {@link Executor#query} 调用，分页插件的计数查询与分页查询都在其中，使用同一从库连接；调用结束时无论是否获取过
+ * 连接、是否抛出异常都会退出作用域，命中二级缓存、分页插件提前返回等情况不会把读标记残留到后续的写连接上。
+ * 带锁的查询（{@code FOR UPDATE}、{@code FOR SHARE}、{@code LOCK IN SHARE MODE}）与事务内的查询不进入读作用域，
+ * 后者由数据源按事务是否只读决定。仅有事务同步而没有实际事务时（如 {@code propagation = SUPPORTS}），MyBatis-Spring
+ * 会把连接绑定到线程供后续语句复用，同样不进入读作用域，以免之后的写入落到从库连接上。
+ *
+ * <p>手动 {@code openSession()} 得到的 {@code SqlSession} 在关闭前一直持有首次获取的连接，本拦截器无法得知后续是否还有写入：
+ * 在其中先读后写时，应以 {@link ReadWriteRouting#onPrimary} 包住整个会话，或改用事务。
+ *
+ * <p>与 {@link com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor} 的注册先后不影响结果：在其外层时
+ * 作用域包含整个分页调用，在其内层时计数查询与分页查询各自经过本拦截器。
+ */
+@Intercepts({
+    @Signature(
+            type = Executor.class,
+            method = "query",
+            args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(
+            type = Executor.class,
+            method = "query",
+            args = {
+                MappedStatement.class,
+                Object.class,
+                RowBounds.class,
+                ResultHandler.class,
+                CacheKey.class,
+                BoundSql.class
+            }),
+    @Signature(
+            type = Executor.class,
+            method = "queryCursor",
+            args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class ReadWriteRoutingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        if (!readable(ms, args)) {
+            return invocation.proceed();
+        }
+        boolean previous = ReadWriteRouting.enterRead();
+        try {
+            return invocation.proceed();
+        } finally {
+            ReadWriteRouting.exitRead(previous);
+        }
+    }
+
+    private static boolean readable(MappedStatement ms, Object[] args) {
+        if (ms.getSqlCommandType() != SqlCommandType.SELECT
+                || ReadWriteRouting.isPrimaryForced()
+                || TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+        return !locking(boundSql.getSql());
+    }
+
+    private static boolean locking(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains("for update")
+                || lower.contains("for share")
+                || lower.contains("lock in share mode");
+    }
+}
@@ -0,0 +1,42 @@
+package com.david.core.mybatis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 读写分离的外部化参数，主库沿用 {@code spring.datasource} 的配置。 */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.mybatis.routing")
+public class ReadWriteRoutingProperties {
+
+    /** 是否启用读写分离。 */
+    private boolean enabled = false;
+
+    /** 从库的选择方式。 */
+    private ReadWriteRoutingDataSource.Balancer balancer =
+            ReadWriteRoutingDataSource.Balancer.ROUND_ROBIN;
+
+    /** 从库列表，为空时所有查询都走主库。 */
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        /** 未配置时与主库相同。 */
+        private String username;
+
+        /** 未配置时与主库相同。 */
+        private String password;
+
+        /** 未配置时按 url 推断。 */
+        private String driverClassName;
+    }
+}
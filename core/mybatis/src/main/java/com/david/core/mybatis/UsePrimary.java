@@ -0,0 +1,16 @@
+package com.david.core.mybatis;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注的方法（或类中的所有方法）内的查询强制走主库，用于需要读到自己刚写入数据的场景，等价于 {@link
+ * ReadWriteRouting#onPrimary(java.util.function.Supplier)}。
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsePrimary {}
@@ -0,0 +1,163 @@
+package com.david.core.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+class CountStrategyPaginationInnerInterceptorTest {
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        dataSource.setURL("jdbc:h2:mem:count_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        execute("CREATE TABLE problem (id BIGINT PRIMARY KEY, difficulty VARCHAR(16))");
+        for (int id = 1; id <= 5; id++) {
+            insert(id, id <= 3 ? "EASY" : "HARD");
+        }
+    }
+
+    @Test
+    void cachedCountIsReusedUntilItExpires() throws Exception {
+        SqlSessionFactory factory =
+                sessionFactory(
+                        properties -> {
+                            properties.setDbType(DbType.H2);
+                            properties.setCountMode(CountMode.CACHED);
+                            properties.setCountCacheTtl(Duration.ofMillis(200));
+                        });
+
+        assertThat(select(factory, new CountingPage<>(1, 2), "EASY").getTotal()).isEqualTo(3);
+        insert(6, "EASY");
+
+        assertThat(select(factory, new CountingPage<>(1, 2), "EASY").getTotal()).isEqualTo(3);
+        // 参数值不同的查询各自计数
+        assertThat(select(factory, new CountingPage<>(1, 2), "HARD").getTotal()).isEqualTo(2);
+
+        Thread.sleep(300);
+        assertThat(select(factory, new CountingPage<>(1, 2), "EASY").getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void hasNextFetchesOneExtraRowAndTrimsIt() {
+        SqlSessionFactory factory = sessionFactory(properties -> properties.setDbType(DbType.H2));
+
+        CountingPage<Long> first = select(factory, CountingPage.hasNextOnly(1, 2), null);
+        assertThat(first.getRecords()).containsExactly(1L, 2L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getTotal()).isEqualTo(3);
+        assertThat(first.isTotalExact()).isFalse();
+
+        CountingPage<Long> last = select(factory, CountingPage.hasNextOnly(3, 2), null);
+        assertThat(last.getRecords()).containsExactly(5L);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.getTotal()).isEqualTo(5);
+    }
+
+    @Test
+    void estimateOnUnsupportedDialectFallsBackToExactCount() {
+        SqlSessionFactory factory = sessionFactory(properties -> properties.setDbType(DbType.H2));
+
+        CountingPage<Long> page = select(factory, CountingPage.estimated(1, 2), "EASY");
+
+        assertThat(page.getTotal()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isTrue();
+        assertThat(page.getRecords()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void failedExplainFallsBackToExactCount() {
+        // H2 不支持 EXPLAIN EXTENDED，估算抛出的 SQLException 不应让查询失败
+        SqlSessionFactory factory =
+                sessionFactory(
+                        properties -> {
+                            properties.setDbType(DbType.MARIADB);
+                            properties.setEstimateThreshold(0);
+                        });
+
+        CountingPage<Long> page = select(factory, CountingPage.estimated(1, 2), "HARD");
+
+        assertThat(page.getTotal()).isEqualTo(2);
+        assertThat(page.isTotalExact()).isTrue();
+        assertThat(page.getRecords()).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void explainWithoutRowEstimatesFallsBackToExactCount() {
+        // H2 的 EXPLAIN 只返回 PLAN 列，缺少 id/rows 时不按 MySQL 的格式读取
+        SqlSessionFactory factory =
+                sessionFactory(
+                        properties -> {
+                            properties.setDbType(DbType.MYSQL);
+                            properties.setEstimateThreshold(0);
+                        });
+
+        CountingPage<Long> page = select(factory, CountingPage.estimated(1, 2), "EASY");
+
+        assertThat(page.getTotal()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isTrue();
+    }
+
+    private SqlSessionFactory sessionFactory(Consumer<PaginationProperties> customizer) {
+        PaginationProperties properties = new PaginationProperties();
+        customizer.accept(properties);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(new CountStrategyPaginationInnerInterceptor(properties));
+        MybatisConfiguration configuration =
+                new MybatisConfiguration(
+                        new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.addInterceptor(interceptor);
+        configuration.addMapper(ProblemMapper.class);
+        return new MybatisSqlSessionFactoryBuilder().build(configuration);
+    }
+
+    private static <P extends IPage<Long>> P select(
+            SqlSessionFactory factory, P page, String difficulty) {
+        try (SqlSession session = factory.openSession(true)) {
+            session.getMapper(ProblemMapper.class).selectIds(page, difficulty);
+            return page;
+        }
+    }
+
+    private void insert(int id, String difficulty) throws SQLException {
+        execute("INSERT INTO problem (id, difficulty) VALUES (" + id + ", '" + difficulty + "')");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    interface ProblemMapper {
+
+        @Select(
+                "<script>SELECT id FROM problem <where>"
+                        + "<if test='difficulty != null'>difficulty = #{difficulty}</if>"
+                        + "</where> ORDER BY id</script>")
+        IPage<Long> selectIds(IPage<Long> page, @Param("difficulty") String difficulty);
+    }
+}
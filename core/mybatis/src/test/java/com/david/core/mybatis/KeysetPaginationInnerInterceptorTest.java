@@ -0,0 +1,209 @@
+package com.david.core.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.david.core.exception.BusinessException;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class KeysetPaginationInnerInterceptorTest {
+
+    private static final CursorPage.Order<Row> OLDEST_FIRST =
+            CursorPage.Order.by("created_at", Row::createdAt, "id", Row::id);
+
+    private static final CursorPage.Order<Row> NEWEST_FIRST = OLDEST_FIRST.descending();
+
+    private static final CursorPage.Order<Row> BY_ID = CursorPage.Order.byId("id", Row::id);
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 8, 0);
+
+    private final MybatisConfiguration configuration = new MybatisConfiguration();
+    private final KeysetPaginationInnerInterceptor interceptor =
+            new KeysetPaginationInnerInterceptor(DbType.MYSQL);
+
+    @Test
+    void firstPageOnlyReplacesOrderByAndLimit() {
+        BoundSql boundSql =
+                rewrite("SELECT id FROM problem ORDER BY title LIMIT 10", CursorPage.of(null, 20, OLDEST_FIRST));
+
+        assertThat(boundSql.getSql()).isEqualTo("SELECT id FROM problem ORDER BY created_at, id LIMIT ?");
+        assertThat(properties(boundSql)).hasSize(1);
+        assertThat(values(boundSql)).containsExactly(21L);
+    }
+
+    @Test
+    void ascendingCursorExpandsToIndexFriendlyPredicate() {
+        CursorPage<Row> page = CursorPage.of(cursorAfter(OLDEST_FIRST, new Row(7L, CREATED_AT)), 20, OLDEST_FIRST);
+
+        BoundSql boundSql = rewrite("SELECT id FROM problem", page);
+
+        assertThat(boundSql.getSql())
+                .isEqualTo(
+                        "SELECT id FROM problem WHERE created_at >= ? AND (created_at > ? OR id > ?)"
+                                + " ORDER BY created_at, id LIMIT ?");
+        assertThat(values(boundSql)).containsExactly(CREATED_AT, CREATED_AT, 7L, 21L);
+    }
+
+    @Test
+    void descendingCursorReversesComparisonsAndOrder() {
+        CursorPage<Row> page = CursorPage.of(cursorAfter(NEWEST_FIRST, new Row(7L, CREATED_AT)), 5, NEWEST_FIRST);
+
+        BoundSql boundSql = rewrite("SELECT id FROM problem", page);
+
+        assertThat(boundSql.getSql())
+                .isEqualTo(
+                        "SELECT id FROM problem WHERE created_at <= ? AND (created_at < ? OR id < ?)"
+                                + " ORDER BY created_at DESC, id DESC LIMIT ?");
+        assertThat(values(boundSql)).containsExactly(CREATED_AT, CREATED_AT, 7L, 6L);
+    }
+
+    @Test
+    void idOnlyCursorComparesPrimaryKey() {
+        CursorPage<Row> page = CursorPage.of(cursorAfter(BY_ID, new Row(42L, CREATED_AT)), 20, BY_ID);
+
+        BoundSql boundSql = rewrite("SELECT id FROM problem", page);
+
+        assertThat(boundSql.getSql()).isEqualTo("SELECT id FROM problem WHERE id > ? ORDER BY id LIMIT ?");
+        assertThat(values(boundSql)).containsExactly(42L, 21L);
+    }
+
+    @Test
+    void existingWhereIsParenthesizedAndItsParametersStayFirst() {
+        CursorPage<Row> page = CursorPage.of(cursorAfter(BY_ID, new Row(42L, CREATED_AT)), 20, BY_ID);
+
+        BoundSql boundSql =
+                rewrite("SELECT id FROM problem WHERE status = ? OR owner = ?", page, "status", "owner");
+
+        assertThat(boundSql.getSql())
+                .isEqualTo(
+                        "SELECT id FROM problem WHERE (status = ? OR owner = ?) AND id > ? ORDER BY id LIMIT ?");
+        assertThat(properties(boundSql)).hasSize(4).startsWith("status", "owner", "mybatis_keyset_0");
+        assertThat(values(boundSql)).containsExactly(42L, 21L);
+    }
+
+    @Test
+    void paginationClauseFollowsConfiguredDialect() {
+        CursorPage<Row> page = CursorPage.of(cursorAfter(BY_ID, new Row(42L, CREATED_AT)), 20, BY_ID);
+
+        BoundSql boundSql =
+                rewrite(
+                        new KeysetPaginationInnerInterceptor(DbType.ORACLE),
+                        "SELECT id FROM problem WHERE status = ?",
+                        page,
+                        "status");
+
+        assertThat(boundSql.getSql())
+                .doesNotContain("LIMIT")
+                .contains("(status = ?) AND id > ? ORDER BY id")
+                .contains("ROWNUM");
+        assertThat(properties(boundSql)).startsWith("status", "mybatis_keyset_0");
+        assertThat(values(boundSql)).startsWith(42L).contains(21L);
+    }
+
+    @Test
+    void rejectsParameterAfterWhere() {
+        CursorPage<Row> page = CursorPage.of(null, 20, BY_ID);
+
+        assertThatThrownBy(() -> rewrite("SELECT id FROM problem GROUP BY id HAVING COUNT(*) > ?", page, "min"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void questionMarkInLiteralIsNotAParameter() {
+        CursorPage<Row> page = CursorPage.of(null, 20, BY_ID);
+
+        BoundSql boundSql = rewrite("SELECT id FROM problem ORDER BY FIELD(status, 'a?b')", page);
+
+        assertThat(boundSql.getSql()).isEqualTo("SELECT id FROM problem ORDER BY id LIMIT ?");
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        assertBadRequest(() -> CursorPage.of("not-a-cursor", 20, BY_ID));
+    }
+
+    @Test
+    void cursorFromAnotherOrderIsBadRequest() {
+        String ascending = cursorAfter(OLDEST_FIRST, new Row(7L, CREATED_AT));
+
+        assertBadRequest(() -> CursorPage.of(ascending, 20, NEWEST_FIRST));
+        assertBadRequest(() -> CursorPage.of(ascending, 20, BY_ID));
+        assertBadRequest(
+                () -> CursorPage.of(ascending, 20, CursorPage.Order.by("updated_at", Row::createdAt, "id", Row::id)));
+    }
+
+    @Test
+    void sizeOutOfRangeIsBadRequest() {
+        assertBadRequest(() -> CursorPage.of(null, 0, BY_ID));
+        assertBadRequest(() -> CursorPage.of(null, CursorPage.MAX_SIZE + 1, BY_ID));
+    }
+
+    private BoundSql rewrite(String sql, CursorPage<?> page, String... properties) {
+        return rewrite(interceptor, sql, page, properties);
+    }
+
+    private BoundSql rewrite(
+            KeysetPaginationInnerInterceptor interceptor,
+            String sql,
+            CursorPage<?> page,
+            String... properties) {
+        List<ParameterMapping> mappings = new ArrayList<>();
+        Map<String, Object> parameter = new HashMap<>();
+        for (String property : properties) {
+            mappings.add(new ParameterMapping.Builder(configuration, property, Object.class).build());
+            parameter.put(property, property);
+        }
+        parameter.put("page", page);
+        MappedStatement ms =
+                new MappedStatement.Builder(
+                                configuration,
+                                "problem.selectByCursor",
+                                new StaticSqlSource(configuration, sql, mappings),
+                                SqlCommandType.SELECT)
+                        .build();
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        interceptor.beforeQuery(null, ms, parameter, RowBounds.DEFAULT, null, boundSql);
+        return boundSql;
+    }
+
+    private static String cursorAfter(CursorPage.Order<Row> order, Row last) {
+        return CursorPage.of(null, 1, order).complete(List.of(last, new Row(0L, CREATED_AT))).getNextCursor();
+    }
+
+    private static List<String> properties(BoundSql boundSql) {
+        return boundSql.getParameterMappings().stream().map(ParameterMapping::getProperty).toList();
+    }
+
+    /** 按参数顺序取出拦截器追加的游标与分页参数值。 */
+    private static List<Object> values(BoundSql boundSql) {
+        return properties(boundSql).stream()
+                .filter(boundSql::hasAdditionalParameter)
+                .map(boundSql::getAdditionalParameter)
+                .toList();
+    }
+
+    private static void assertBadRequest(Runnable action) {
+        assertThatThrownBy(action::run)
+                .isInstanceOf(BusinessException.class)
+                .extracting(ex -> ((BusinessException) ex).getStatus())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    record Row(long id, LocalDateTime createdAt) {}
+}
@@ -0,0 +1,244 @@
+package com.david.core.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.MybatisSqlSessionFactoryBuilder;
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+class ReadWriteRoutingAutoConfigurationTest {
+
+    private static final String PRIMARY = "PRIMARY";
+    private static final String REPLICA_0 = "REPLICA0";
+    private static final String REPLICA_1 = "REPLICA1";
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withConfiguration(
+                            AutoConfigurations.of(
+                                    ReadWriteRoutingAutoConfiguration.class,
+                                    MybatisPlusConfig.class,
+                                    DataSourceAutoConfiguration.class,
+                                    DataSourceTransactionManagerAutoConfiguration.class,
+                                    TransactionAutoConfiguration.class,
+                                    AopAutoConfiguration.class))
+                    .withUserConfiguration(MybatisTestConfiguration.class)
+                    .withPropertyValues(
+                            "app.mybatis.routing.enabled=true",
+                            "spring.datasource.url=jdbc:h2:mem:primary",
+                            "spring.datasource.username=sa",
+                            "spring.datasource.hikari.maximum-pool-size=3",
+                            "spring.datasource.hikari.pool-name=routing",
+                            "app.mybatis.routing.replicas[0].url=jdbc:h2:mem:replica0",
+                            "app.mybatis.routing.replicas[1].url=jdbc:h2:mem:replica1");
+
+    @Test
+    void readsOutsideTransactionsRotateAcrossReplicas() {
+        contextRunner.run(
+                context -> {
+                    DatabaseService service = context.getBean(DatabaseService.class);
+                    List<String> databases = new ArrayList<>();
+                    for (int i = 0; i < 4; i++) {
+                        databases.add(service.read());
+                    }
+                    assertThat(databases).containsOnly(REPLICA_0, REPLICA_1);
+                    assertThat(databases.get(0)).isNotEqualTo(databases.get(1));
+                    assertThat(databases.get(0)).isEqualTo(databases.get(2));
+                });
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        contextRunner.run(
+                context -> {
+                    DatabaseService service = context.getBean(DatabaseService.class);
+                    assertThat(service.readOnlyTransaction()).isIn(REPLICA_0, REPLICA_1);
+                    assertThat(service.readWriteTransaction()).isEqualTo(PRIMARY);
+                });
+    }
+
+    @Test
+    void usePrimaryAndOnPrimaryUsePrimary() {
+        contextRunner.run(
+                context -> {
+                    DatabaseService service = context.getBean(DatabaseService.class);
+                    assertThat(service.usePrimary()).isEqualTo(PRIMARY);
+                    assertThat(ReadWriteRouting.onPrimary(service::read)).isEqualTo(PRIMARY);
+                    assertThat(service.read()).isIn(REPLICA_0, REPLICA_1);
+                });
+    }
+
+    @Test
+    void writeAfterReadWithSynchronizationOnlyGoesToPrimary() {
+        contextRunner.run(
+                context -> {
+                    ReadWriteRoutingDataSource routing =
+                            context.getBean(ReadWriteRoutingDataSource.class);
+                    List<DataSource> databases = new ArrayList<>(routing.getReplicas());
+                    databases.add(routing.getPrimary());
+                    for (DataSource database : databases) {
+                        execute(database, "CREATE TABLE note (body VARCHAR(64))");
+                    }
+
+                    assertThat(context.getBean(DatabaseService.class).readThenWrite("hello"))
+                            .isEqualTo(PRIMARY);
+
+                    assertThat(countNotes(routing.getPrimary())).isEqualTo(1);
+                    for (DataSource replica : routing.getReplicas()) {
+                        assertThat(countNotes(replica)).isZero();
+                    }
+                });
+    }
+
+    @Test
+    void readScopeEndsWithQuery() {
+        contextRunner.run(
+                context -> {
+                    context.getBean(DatabaseService.class).read();
+                    assertThat(ReadWriteRouting.isReadRequested()).isFalse();
+                    try (Connection connection =
+                            context.getBean(ReadWriteRoutingDataSource.class).getConnection()) {
+                        assertThat(connection.getCatalog()).isEqualTo(PRIMARY);
+                    }
+                });
+    }
+
+    @Test
+    void poolSettingsAreBoundForPrimaryAndReplicas() {
+        contextRunner.run(
+                context -> {
+                    ReadWriteRoutingDataSource routing =
+                            context.getBean(ReadWriteRoutingDataSource.class);
+                    assertThat(routing.getPrimary()).isInstanceOf(HikariDataSource.class);
+                    HikariDataSource primary = (HikariDataSource) routing.getPrimary();
+                    assertThat(primary.getMaximumPoolSize()).isEqualTo(3);
+                    assertThat(primary.getPoolName()).isEqualTo("routing");
+                    assertThat(routing.getReplicas())
+                            .hasSize(2)
+                            .allSatisfy(
+                                    replica ->
+                                            assertThat(replica)
+                                                    .isInstanceOf(HikariDataSource.class)
+                                                    .extracting("maximumPoolSize")
+                                                    .isEqualTo(3));
+                    assertThat(((HikariDataSource) routing.getReplicas().get(1)).getPoolName())
+                            .isEqualTo("routing-replica-1");
+                });
+    }
+
+    public interface DatabaseMapper {
+
+        @Select("SELECT DATABASE()")
+        String database();
+
+        @Insert("INSERT INTO note (body) VALUES (#{body})")
+        int insertNote(String body);
+    }
+
+    public static class DatabaseService {
+
+        private final DatabaseMapper mapper;
+
+        public DatabaseService(DatabaseMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        public String read() {
+            return mapper.database();
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnlyTransaction() {
+            return mapper.database();
+        }
+
+        @Transactional
+        public String readWriteTransaction() {
+            return mapper.database();
+        }
+
+        @UsePrimary
+        public String usePrimary() {
+            return mapper.database();
+        }
+
+        /** 仅有事务同步、没有实际事务：两条语句共用同一个绑定到线程的连接。 */
+        @Transactional(propagation = Propagation.SUPPORTS)
+        public String readThenWrite(String body) {
+            String database = mapper.database();
+            mapper.insertNote(body);
+            return database;
+        }
+    }
+
+    private static void execute(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int countNotes(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM note")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class MybatisTestConfiguration {
+
+        @Bean
+        SqlSessionFactory sqlSessionFactory(
+                DataSource dataSource, ObjectProvider<Interceptor> interceptors) {
+            MybatisConfiguration configuration =
+                    new MybatisConfiguration(
+                            new Environment(
+                                    "test", new SpringManagedTransactionFactory(), dataSource));
+            interceptors.orderedStream().forEach(configuration::addInterceptor);
+            configuration.addMapper(DatabaseMapper.class);
+            return new MybatisSqlSessionFactoryBuilder().build(configuration);
+        }
+
+        @Bean
+        DatabaseMapper databaseMapper(SqlSessionFactory sqlSessionFactory) {
+            return new SqlSessionTemplate(sqlSessionFactory).getMapper(DatabaseMapper.class);
+        }
+
+        @Bean
+        DatabaseService databaseService(DatabaseMapper databaseMapper) {
+            return new DatabaseService(databaseMapper);
+        }
+    }
+}
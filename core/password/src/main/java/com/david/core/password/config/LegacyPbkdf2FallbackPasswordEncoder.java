@@ -0,0 +1,83 @@
+package com.david.core.password.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * 兼容旧版本生成的 PBKDF2 哈希。
+ *
+ * <p>旧版本误将 {@code pbkdf2HashWidth} 作为迭代次数传给了 {@code Pbkdf2PasswordEncoder}，而 PBKDF2 哈希中不记录迭代次数，
+ * 修正后这些哈希无法再用新参数校验。这里在新参数校验失败时再以旧参数尝试一次；旧参数迭代次数很低，额外开销可以忽略。
+ * 新哈希一律按新参数生成。
+ *
+ * <p>仅凭哈希无法区分新旧参数，{@link #upgradeEncoding(String)} 也就无从判断；旧参数匹配只能在校验时得知。
+ * {@link PasswordService#matchesAndUpgrade} 通过 {@link #track(BooleanSupplier)} 获取该结果，并把旧哈希交给升级管道重新编码。
+ * 本编码器被 {@code DelegatingPasswordEncoder} 包装时同样有效，两者在同一线程上完成校验。
+ */
+final class LegacyPbkdf2FallbackPasswordEncoder implements PasswordEncoder {
+
+    /** 当前线程上正在记录的校验；为 {@code null} 时不记录。 */
+    private static final ThreadLocal<boolean[]> LEGACY_MATCHED = new ThreadLocal<>();
+
+    private final PasswordEncoder current;
+    private final PasswordEncoder legacy;
+
+    LegacyPbkdf2FallbackPasswordEncoder(PasswordEncoder current, PasswordEncoder legacy) {
+        this.current = current;
+        this.legacy = legacy;
+    }
+
+    /** 在当前线程上执行校验，并报告其间是否有哈希仅被旧参数匹配。 */
+    static Match track(BooleanSupplier verification) {
+        boolean[] previous = LEGACY_MATCHED.get();
+        boolean[] legacyMatched = new boolean[1];
+        LEGACY_MATCHED.set(legacyMatched);
+        try {
+            if (!verification.getAsBoolean()) {
+                return Match.NONE;
+            }
+            return legacyMatched[0] ? Match.LEGACY : Match.CURRENT;
+        } finally {
+            if (previous == null) {
+                LEGACY_MATCHED.remove();
+            } else {
+                LEGACY_MATCHED.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return current.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (current.matches(rawPassword, encodedPassword)) {
+            return true;
+        }
+        if (!legacy.matches(rawPassword, encodedPassword)) {
+            return false;
+        }
+        boolean[] legacyMatched = LEGACY_MATCHED.get();
+        if (legacyMatched != null) {
+            legacyMatched[0] = true;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return current.upgradeEncoding(encodedPassword);
+    }
+
+    enum Match {
+        /** 校验未通过。 */
+        NONE,
+        /** 以当前参数匹配。 */
+        CURRENT,
+        /** 仅以旧参数匹配，需要重新编码。 */
+        LEGACY
+    }
+}
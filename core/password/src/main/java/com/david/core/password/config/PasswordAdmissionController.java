@@ -0,0 +1,106 @@
+package com.david.core.password.config;
+
+import com.david.core.exception.BusinessException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.lang.NonNull;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 全局限制同步调用同时进行的密码哈希数量。异步调用在 {@link PasswordHashingExecutor} 上执行，已由其线程数与有界队列限流，
+ * 不再获取许可，以免线程池工作线程阻塞在许可上、已入队的任务迟迟以 503 失败。
+ *
+ * <p>超出 CPU 承载能力的哈希只会让所有请求一起变慢，最终在网关处超时；在 {@code maxWait} 内拿不到许可的调用
+ * 直接以 503 {@link BusinessException} 失败，使过载节点快速返回错误而不是堆积延迟。
+ * 指标：{@code password.admission.wait} 获取许可的等待时间，{@code password.admission.available}
+ * 剩余许可数，{@code password.admission.rejected{operation}} 被拒绝的调用数。
+ */
+public final class PasswordAdmissionController implements MeterBinder {
+
+    static final String ENCODE = "encode";
+    static final String MATCHES = "matches";
+
+    private final Semaphore semaphore;
+    private final int permits;
+    private final long maxWaitNanos;
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Timer waitTimer =
+            Timer.builder("password.admission.wait")
+                    .description("获取哈希许可的等待时间")
+                    .register(registry);
+    private final Counter encodeRejected = rejectedCounter(ENCODE);
+    private final Counter matchesRejected = rejectedCounter(MATCHES);
+
+    /**
+     * @param permits 同时进行的哈希数量上限，小于等于 0 时取 CPU 核数
+     * @param maxWait 获取许可的最长等待时间，为 {@code null} 或 0 时不等待
+     */
+    public PasswordAdmissionController(int permits, Duration maxWait) {
+        this.permits = permits > 0 ? permits : Runtime.getRuntime().availableProcessors();
+        this.maxWaitNanos = maxWait != null ? Math.max(0, maxWait.toNanos()) : 0;
+        this.semaphore = new Semaphore(this.permits);
+        Gauge.builder("password.admission.available", semaphore, Semaphore::availablePermits)
+                .description("剩余的哈希许可数")
+                .register(registry);
+    }
+
+    /** 获取许可后执行哈希，超时或线程被中断时抛出 503 {@link BusinessException}。 */
+    <T> T admit(String operation, Supplier<T> task) {
+        acquire(operation);
+        try {
+            return task.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    private void acquire(String operation) {
+        if (semaphore.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = maxWaitNanos > 0 && semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            (MATCHES.equals(operation) ? matchesRejected : encodeRejected).increment();
+            throw PasswordHashingExecutor.REJECTED;
+        }
+    }
+
+    private Counter rejectedCounter(String operation) {
+        return Counter.builder("password.admission.rejected")
+                .description("未能在等待时间内获取哈希许可而被拒绝的调用数")
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -2,17 +2,22 @@ package com.david.core.password.config;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.info.InfoContributor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -30,22 +35,91 @@ public class PasswordAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public PasswordEncoder passwordEncoder(PasswordProperties properties) {
+    public PasswordEncoder passwordEncoder(
+            PasswordProperties properties, ObjectProvider<PasswordCalibration> calibration) {
+        PasswordCalibration calibrated = calibration.getIfAvailable();
+        int bcryptStrength =
+                calibrated != null && calibrated.bcryptStrength() != null
+                        ? calibrated.bcryptStrength()
+                        : properties.getBcryptStrength();
         return switch (properties.getAlgorithm()) {
-            case BCRYPT -> createBcryptEncoder(properties);
+            case BCRYPT -> createBcryptEncoder(bcryptStrength);
             case PBKDF2 -> createPbkdf2Encoder(properties);
-            case DELEGATING -> createDelegatingEncoder(properties);
+            case DELEGATING -> createDelegatingEncoder(properties, bcryptStrength);
         };
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public PasswordService passwordService(PasswordEncoder passwordEncoder) {
-        return new PasswordService(passwordEncoder);
+    @ConditionalOnProperty(prefix = "app.security.password", name = "target-latency")
+    public PasswordCalibration passwordCalibration(PasswordProperties properties) {
+        return PasswordCalibrator.calibrate(properties, createPbkdf2Encoder(properties));
     }
 
-    private PasswordEncoder createBcryptEncoder(PasswordProperties properties) {
-        int strength = clamp(properties.getBcryptStrength());
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordHashingExecutor passwordHashingExecutor(PasswordProperties properties) {
+        PasswordProperties.Hashing hashing = properties.getHashing();
+        return new PasswordHashingExecutor(hashing.getThreads(), hashing.getQueueCapacity());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBean(PasswordUpgradeSink.class)
+    public PasswordUpgradePipeline passwordUpgradePipeline(
+            PasswordEncoder passwordEncoder,
+            PasswordUpgradeSink sink,
+            PasswordProperties properties) {
+        PasswordProperties.Upgrade upgrade = properties.getUpgrade();
+        return new PasswordUpgradePipeline(
+                passwordEncoder,
+                sink,
+                upgrade.getBatchSize(),
+                upgrade.getBatchDelay(),
+                upgrade.getQueueCapacity());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = "app.security.password.verification-guard",
+            name = "enabled",
+            havingValue = "true")
+    public PasswordVerificationGuard passwordVerificationGuard(PasswordProperties properties) {
+        PasswordProperties.VerificationGuard guard = properties.getVerificationGuard();
+        return new PasswordVerificationGuard(
+                guard.getFailureTtl(), guard.getMaxFailures(), guard.getMaxConcurrentPerHash());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+            prefix = "app.security.password.admission",
+            name = "enabled",
+            havingValue = "true")
+    public PasswordAdmissionController passwordAdmissionController(PasswordProperties properties) {
+        PasswordProperties.Admission admission = properties.getAdmission();
+        return new PasswordAdmissionController(admission.getPermits(), admission.getMaxWait());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PasswordService passwordService(
+            PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor hashingExecutor,
+            ObjectProvider<PasswordUpgradePipeline> upgradePipeline,
+            ObjectProvider<PasswordVerificationGuard> verificationGuard,
+            ObjectProvider<PasswordAdmissionController> admissionController) {
+        return new PasswordService(
+                passwordEncoder,
+                hashingExecutor,
+                upgradePipeline.getIfAvailable(),
+                verificationGuard.getIfAvailable(),
+                admissionController.getIfAvailable());
+    }
+
+    private PasswordEncoder createBcryptEncoder(int bcryptStrength) {
+        int strength = clamp(bcryptStrength);
         return new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder(strength);
     }
 
@@ -53,20 +127,34 @@ public class PasswordAutoConfiguration {
         Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm algorithm =
                 resolveSecretKeyFactoryAlgorithm(properties.getPbkdf2Algorithm());
 
-        // 使用包含 algorithm 的构造器，随后再设置 iterations / base64
+        int saltLength = Math.max(8, properties.getPbkdf2SaltLength()); // 下限保护
         Pbkdf2PasswordEncoder encoder =
                 new Pbkdf2PasswordEncoder(
                         properties.getSecret(),
-                        Math.max(8, properties.getPbkdf2SaltLength()), // 下限保护
+                        saltLength,
+                        properties.getPbkdf2Iterations(),
+                        properties.getPbkdf2HashWidth());
+        encoder.setAlgorithm(algorithm);
+        encoder.setEncodeHashAsBase64(properties.isPbkdf2EncodeHashAsBase64());
+        if (!properties.isPbkdf2LegacyFallback()) {
+            return encoder;
+        }
+
+        // 旧版本使用 (secret, saltLength, iterations, algorithm) 构造器时误传了 hashWidth 作为迭代次数
+        Pbkdf2PasswordEncoder legacy =
+                new Pbkdf2PasswordEncoder(
+                        properties.getSecret(),
+                        saltLength,
                         properties.getPbkdf2HashWidth(),
                         algorithm);
-        encoder.setEncodeHashAsBase64(properties.isPbkdf2EncodeHashAsBase64());
-        return encoder;
+        legacy.setEncodeHashAsBase64(properties.isPbkdf2EncodeHashAsBase64());
+        return new LegacyPbkdf2FallbackPasswordEncoder(encoder, legacy);
     }
 
-    private PasswordEncoder createDelegatingEncoder(PasswordProperties properties) {
+    private PasswordEncoder createDelegatingEncoder(
+            PasswordProperties properties, int bcryptStrength) {
         Map<String, PasswordEncoder> delegates = new HashMap<>();
-        delegates.put("bcrypt", createBcryptEncoder(properties));
+        delegates.put("bcrypt", createBcryptEncoder(bcryptStrength));
         delegates.put("pbkdf2", createPbkdf2Encoder(properties));
 
         String idForEncode = properties.getDelegatingId();
@@ -99,4 +187,37 @@ public class PasswordAutoConfiguration {
             return Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256;
         }
     }
+
+    /** 通过 actuator {@code /info} 暴露校准结果。 */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(InfoContributor.class)
+    @ConditionalOnProperty(prefix = "app.security.password", name = "target-latency")
+    static class PasswordCalibrationInfoConfiguration {
+
+        @Bean
+        public InfoContributor passwordCalibrationInfoContributor(
+                PasswordProperties properties, ObjectProvider<PasswordCalibration> calibration) {
+            return builder ->
+                    calibration.ifAvailable(
+                            result -> {
+                                Map<String, Object> details = new LinkedHashMap<>();
+                                details.put("algorithm", properties.getAlgorithm().name());
+                                details.put("targetLatencyMs", result.targetLatency().toMillis());
+                                if (result.bcryptStrength() != null) {
+                                    details.put("bcryptStrength", result.bcryptStrength());
+                                    details.put(
+                                            "bcryptLatencyMs", result.bcryptLatency().toMillis());
+                                }
+                                if (result.pbkdf2Iterations() != null) {
+                                    details.put("pbkdf2Iterations", result.pbkdf2Iterations());
+                                    details.put(
+                                            "pbkdf2LatencyMs", result.pbkdf2Latency().toMillis());
+                                    details.put(
+                                            "recommendedPbkdf2Iterations",
+                                            result.recommendedPbkdf2Iterations());
+                                }
+                                builder.withDetail("password", details);
+                            });
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package com.david.core.password.config;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * 启动时按目标延迟校准得到的密码哈希参数。
+ *
+ * @param targetLatency              目标单次哈希耗时
+ * @param bcryptStrength             选定的 BCrypt 强度，未使用 BCrypt 时为 {@code null}
+ * @param bcryptLatency              选定强度下实测的单次耗时
+ * @param pbkdf2Iterations           PBKDF2 实际使用的迭代次数（不做调整），未使用 PBKDF2 时为 {@code null}
+ * @param pbkdf2Latency              该迭代次数下实测的单次耗时
+ * @param recommendedPbkdf2Iterations 满足目标延迟的建议迭代次数，仅供参考
+ */
+public record PasswordCalibration(
+        Duration targetLatency,
+        @Nullable Integer bcryptStrength,
+        @Nullable Duration bcryptLatency,
+        @Nullable Integer pbkdf2Iterations,
+        @Nullable Duration pbkdf2Latency,
+        @Nullable Integer recommendedPbkdf2Iterations) {}
@@ -0,0 +1,120 @@
+package com.david.core.password.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 在当前硬件上实测哈希耗时，选出不超过目标延迟的最高成本。
+ *
+ * <p>BCrypt 的强度写在哈希串中，调高后旧哈希仍可校验，因此直接采用校准结果，最低不低于 {@link #MIN_BCRYPT_STRENGTH}。
+ * PBKDF2 的迭代次数不写入哈希，改动后所有已存哈希都将无法校验，所以只测量并给出建议值，不自动调整。
+ */
+@Slf4j
+final class PasswordCalibrator {
+
+    /** 校准结果的下限，即使硬件过慢也不低于该强度。 */
+    static final int MIN_BCRYPT_STRENGTH = 10;
+
+    /** 校准结果的上限，避免在极快的机器上启动耗时过长。 */
+    static final int MAX_BCRYPT_STRENGTH = 20;
+
+    private static final int SAMPLES = 3;
+
+    private static final String SAMPLE_PASSWORD = "calibration-Sample-Passw0rd";
+
+    private PasswordCalibrator() {}
+
+    static PasswordCalibration calibrate(
+            PasswordProperties properties, PasswordEncoder pbkdf2Encoder) {
+        Duration target = properties.getTargetLatency();
+        PasswordProperties.Algorithm algorithm = properties.getAlgorithm();
+
+        Integer strength = null;
+        Duration bcryptLatency = null;
+        if (algorithm != PasswordProperties.Algorithm.PBKDF2) {
+            strength = calibrateBcrypt(target);
+            bcryptLatency = measure(new BCryptPasswordEncoder(strength));
+            log.info(
+                    "BCrypt 强度校准为 {}，单次耗时约 {} ms（目标 {} ms）",
+                    strength,
+                    bcryptLatency.toMillis(),
+                    target.toMillis());
+        }
+
+        Integer iterations = null;
+        Duration pbkdf2Latency = null;
+        Integer recommended = null;
+        if (algorithm != PasswordProperties.Algorithm.BCRYPT) {
+            iterations = properties.getPbkdf2Iterations();
+            pbkdf2Latency = measure(pbkdf2Encoder);
+            recommended = recommendIterations(iterations, pbkdf2Latency, target);
+            if (pbkdf2Latency.compareTo(target) > 0) {
+                log.warn(
+                        "PBKDF2 迭代 {} 次单次耗时约 {} ms，超出目标 {} ms；迭代次数不写入哈希，未自动调整，建议值 {}",
+                        iterations,
+                        pbkdf2Latency.toMillis(),
+                        target.toMillis(),
+                        recommended);
+            } else {
+                log.info(
+                        "PBKDF2 迭代 {} 次单次耗时约 {} ms（目标 {} ms），建议值 {}",
+                        iterations,
+                        pbkdf2Latency.toMillis(),
+                        target.toMillis(),
+                        recommended);
+            }
+        }
+        return new PasswordCalibration(
+                target, strength, bcryptLatency, iterations, pbkdf2Latency, recommended);
+    }
+
+    /** 从下限开始实测，按耗时随强度翻倍的规律预估，再逐级回退直到满足目标。 */
+    private static int calibrateBcrypt(Duration target) {
+        long baseline = measure(new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH)).toNanos();
+        long targetNanos = target.toNanos();
+        if (baseline >= targetNanos) {
+            log.warn(
+                    "BCrypt 强度 {} 单次耗时约 {} ms，已超出目标 {} ms，采用下限强度",
+                    MIN_BCRYPT_STRENGTH,
+                    Duration.ofNanos(baseline).toMillis(),
+                    target.toMillis());
+            return MIN_BCRYPT_STRENGTH;
+        }
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH
+                && baseline << (strength + 1 - MIN_BCRYPT_STRENGTH) <= targetNanos) {
+            strength++;
+        }
+        while (strength > MIN_BCRYPT_STRENGTH
+                && measure(new BCryptPasswordEncoder(strength)).toNanos() > targetNanos) {
+            strength--;
+        }
+        return strength;
+    }
+
+    private static int recommendIterations(int iterations, Duration latency, Duration target) {
+        long nanos = Math.max(1L, latency.toNanos());
+        long recommended = iterations * target.toNanos() / nanos;
+        // 取整到万次，便于配置
+        recommended = Math.max(10_000L, recommended / 10_000L * 10_000L);
+        return (int) Math.min(Integer.MAX_VALUE, recommended);
+    }
+
+    /** 预热一次后取 {@link #SAMPLES} 次编码耗时的中位数。 */
+    private static Duration measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Duration.ofNanos(samples[SAMPLES / 2]);
+    }
+}
@@ -0,0 +1,136 @@
+package com.david.core.password.config;
+
+import com.david.core.exception.BusinessException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 专用于密码哈希的有界线程池，避免 BCrypt/PBKDF2 长时间占用 Web 容器的工作线程。
+ *
+ * <p>线程数固定，队列有界；队列已满时立即以 503 {@link BusinessException} 失败，而不是继续堆积等待。
+ * 指标：{@code password.hash{operation}} 哈希耗时（不含排队），{@code password.hash.queue.size}
+ * 排队数量，{@code password.hash.active} 执行中的任务数，{@code password.hash.rejected} 被拒绝的任务数。
+ */
+public final class PasswordHashingExecutor implements MeterBinder, AutoCloseable {
+
+    static final String REJECTED_MESSAGE = "密码服务繁忙，请稍后重试";
+
+    /** 过载时频繁抛出，使用不采集堆栈的共享实例。 */
+    static final BusinessException REJECTED =
+            BusinessException.prebuilt(HttpStatus.SERVICE_UNAVAILABLE, REJECTED_MESSAGE);
+
+    private final ThreadPoolExecutor executor;
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Timer encodeTimer = timer("encode");
+    private final Timer matchesTimer = timer("matches");
+    private final Counter rejected =
+            Counter.builder("password.hash.rejected")
+                    .description("哈希线程池队列已满而被拒绝的任务数")
+                    .register(registry);
+
+    /**
+     * @param threads       线程数，小于等于 0 时取 CPU 核数
+     * @param queueCapacity 等待队列容量
+     */
+    public PasswordHashingExecutor(int threads, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity 必须大于 0: " + queueCapacity);
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor =
+                new ThreadPoolExecutor(
+                        poolSize,
+                        poolSize,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(queueCapacity),
+                        new HashingThreadFactory(),
+                        new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("等待哈希的任务数")
+                .register(registry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行的哈希任务数")
+                .register(registry);
+    }
+
+    CompletableFuture<String> encode(Supplier<String> task) {
+        return submit(task, encodeTimer);
+    }
+
+    CompletableFuture<Boolean> matches(Supplier<Boolean> task) {
+        return submit(task, matchesTimer);
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task, Timer timer) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> {
+                        long start = System.nanoTime();
+                        try {
+                            return task.get();
+                        } finally {
+                            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    },
+                    executor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(REJECTED);
+        }
+    }
+
+    private Timer timer(String operation) {
+        return Timer.builder("password.hash")
+                .description("密码哈希耗时，不含排队时间")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 
+import java.time.Duration;
+
 /** 外部化密码编码配置，支持多种算法及参数定制。 */
 @Getter
 @Setter
@@ -40,12 +42,35 @@ public class PasswordProperties {
 	/** PBKDF2 派生哈希宽度（位），Spring 默认 256。*/
 	private int pbkdf2HashWidth = 256;
 
-	/** PBKDF2 迭代次数，Spring 5.8+/6.x 默认 310000。*/
+	/** PBKDF2 迭代次数，Spring 5.8+/6.x 默认 310000。迭代次数不写入哈希，修改后已有哈希将无法校验。*/
 	private int pbkdf2Iterations = 310_000;
 
+	/**
+	 * 是否兼容旧版本生成的 PBKDF2 哈希。旧版本误以 pbkdf2HashWidth 作为迭代次数，开启后新参数校验失败时会以旧参数再校验一次。
+	 */
+	private boolean pbkdf2LegacyFallback = true;
+
+	/**
+	 * 单次哈希的目标耗时，配置后启动时在当前硬件上校准 BCrypt 强度（不低于 10），PBKDF2 仅测量并给出建议值。
+	 * 未配置时使用固定参数。
+	 */
+	private Duration targetLatency;
+
 	/** DelegatingPasswordEncoder 默认编码 id。 */
 	private String delegatingId = "bcrypt";
 
+	/** 异步哈希线程池配置。 */
+	private Hashing hashing = new Hashing();
+
+	/** 登录后密码哈希升级管道配置，仅在存在 PasswordUpgradeSink Bean 时生效。 */
+	private Upgrade upgrade = new Upgrade();
+
+	/** 撞库防护配置。 */
+	private VerificationGuard verificationGuard = new VerificationGuard();
+
+	/** 哈希准入控制配置。 */
+	private Admission admission = new Admission();
+
 	public enum Algorithm {
 		/** 使用 BCrypt 算法编码。 */
 		BCRYPT,
@@ -54,4 +79,60 @@ public class PasswordProperties {
 		/** 使用 Spring Security 的 DelegatingPasswordEncoder，根据密码前缀动态选择算法。 */
 		DELEGATING
 	}
+
+	@Getter
+	@Setter
+	public static class Hashing {
+
+		/** 哈希线程数，小于等于 0 时取 CPU 核数。 */
+		private int threads = 0;
+
+		/** 等待队列容量，队列满后新的异步请求直接以 503 拒绝。 */
+		private int queueCapacity = 64;
+	}
+
+	@Getter
+	@Setter
+	public static class Upgrade {
+
+		/** 每批交给 PasswordUpgradeSink 的最大数量。 */
+		private int batchSize = 32;
+
+		/** 收到第一条升级后等待凑批的最长时间。 */
+		private Duration batchDelay = Duration.ofMillis(200);
+
+		/** 等待升级的最大数量，超出后直接忽略，下次登录会再次触发。 */
+		private int queueCapacity = 1024;
+	}
+
+	@Getter
+	@Setter
+	public static class VerificationGuard {
+
+		/** 是否启用撞库防护。 */
+		private boolean enabled = false;
+
+		/** 失败组合的记录时长，期间重复尝试直接判定失败。 */
+		private Duration failureTtl = Duration.ofMinutes(10);
+
+		/** 失败组合的记录数量上限。 */
+		private int maxFailures = 100_000;
+
+		/** 同一哈希允许的并发校验数，超出时返回 429，小于等于 0 表示不限制。 */
+		private int maxConcurrentPerHash = 4;
+	}
+
+	@Getter
+	@Setter
+	public static class Admission {
+
+		/** 是否限制同步调用同时进行的哈希数量；需显式开启，开启后同步调用在过载时会以 503 失败。 */
+		private boolean enabled = false;
+
+		/** 同时进行的哈希数量上限，小于等于 0 时取 CPU 核数。 */
+		private int permits = 0;
+
+		/** 获取许可的最长等待时间，超时返回 503。 */
+		private Duration maxWait = Duration.ofSeconds(1);
+	}
 }
@@ -1,19 +1,149 @@
 package com.david.core.password.config;
 
+import org.springframework.lang.Nullable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-/** 简单的密码服务封装，便于在领域层进行密码编码与校验。 */
-public record PasswordService(PasswordEncoder passwordEncoder) {
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 简单的密码服务封装，便于在领域层进行密码编码与校验。
+ *
+ * <p>{@code *Async} 方法在 {@link PasswordHashingExecutor} 上执行哈希，线程池繁忙时返回的 future 以 503
+ * {@link com.david.core.exception.BusinessException} 失败；未配置线程池时在调用线程上同步完成。
+ *
+ * <p>{@code matchesAndUpgrade*} 在校验通过且哈希需要升级时，把重新编码交给 {@link PasswordUpgradePipeline}
+ * 在后台完成，不增加登录请求的耗时；未配置升级管道时与 {@code matches*} 相同。除 {@link #upgradeEncoding(String)}
+ * 外，仅被旧版本 PBKDF2 参数匹配的哈希也会升级。
+ *
+ * <p>配置了 {@link PasswordAdmissionController} 时，同步调用的每次哈希都需先获取许可，等待超时以 503
+ * {@link com.david.core.exception.BusinessException} 失败；在线程池上执行的异步调用不获取许可。
+ */
+public class PasswordService {
+
+    private final PasswordEncoder passwordEncoder;
+    @Nullable private final PasswordHashingExecutor hashingExecutor;
+    @Nullable private final PasswordUpgradePipeline upgradePipeline;
+    @Nullable private final PasswordVerificationGuard verificationGuard;
+    @Nullable private final PasswordAdmissionController admissionController;
+
+    /** 只做编码与校验，不使用线程池、升级管道、校验保护与哈希许可。 */
+    public PasswordService(PasswordEncoder passwordEncoder) {
+        this(passwordEncoder, null, null, null, null);
+    }
+
+    /** 各协作组件均可为 {@code null}，为 {@code null} 时不启用对应功能。 */
+    public PasswordService(
+            PasswordEncoder passwordEncoder,
+            @Nullable PasswordHashingExecutor hashingExecutor,
+            @Nullable PasswordUpgradePipeline upgradePipeline,
+            @Nullable PasswordVerificationGuard verificationGuard,
+            @Nullable PasswordAdmissionController admissionController) {
+        this.passwordEncoder = passwordEncoder;
+        this.hashingExecutor = hashingExecutor;
+        this.upgradePipeline = upgradePipeline;
+        this.verificationGuard = verificationGuard;
+        this.admissionController = admissionController;
+    }
+
+    public PasswordEncoder passwordEncoder() {
+        return passwordEncoder;
+    }
 
     public String encode(CharSequence rawPassword) {
+        if (admissionController != null) {
+            return admissionController.admit(
+                    PasswordAdmissionController.ENCODE, () -> passwordEncoder.encode(rawPassword));
+        }
         return passwordEncoder.encode(rawPassword);
     }
 
+    /**
+     * 校验密码；配置了 {@link PasswordVerificationGuard} 时，近期失败过的相同组合直接返回 {@code false}，
+     * 同一哈希并发校验过多时抛出 429 {@link com.david.core.exception.BusinessException}。两项检查都在获取哈希许可之前，
+     * 被拦下的请求不占用许可。
+     */
     public boolean matches(CharSequence rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return matches(rawPassword, encodedPassword, true);
     }
 
     public boolean upgradeEncoding(String encodedPassword) {
         return passwordEncoder.upgradeEncoding(encodedPassword);
     }
+
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        if (hashingExecutor == null) {
+            return CompletableFuture.completedFuture(encode(rawPassword));
+        }
+        return hashingExecutor.encode(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(
+            CharSequence rawPassword, String encodedPassword) {
+        if (hashingExecutor == null) {
+            return CompletableFuture.completedFuture(matches(rawPassword, encodedPassword));
+        }
+        return hashingExecutor.matches(() -> matches(rawPassword, encodedPassword, false));
+    }
+
+    /**
+     * 校验密码，通过且需要升级时在后台重新编码并交给 {@link PasswordUpgradeSink}，立即返回校验结果。
+     *
+     * @param subject 用户标识，原样传给 {@link PasswordUpgradeSink}
+     */
+    public boolean matchesAndUpgrade(
+            String subject, CharSequence rawPassword, String encodedPassword) {
+        return verifyAndUpgrade(subject, rawPassword, encodedPassword, true);
+    }
+
+    /** {@link #matchesAndUpgrade} 的异步版本，校验在哈希线程池上执行。 */
+    public CompletableFuture<Boolean> matchesAndUpgradeAsync(
+            String subject, CharSequence rawPassword, String encodedPassword) {
+        if (hashingExecutor == null) {
+            return CompletableFuture.completedFuture(
+                    verifyAndUpgrade(subject, rawPassword, encodedPassword, true));
+        }
+        return hashingExecutor.matches(
+                () -> verifyAndUpgrade(subject, rawPassword, encodedPassword, false));
+    }
+
+    /**
+     * @param admit 是否获取哈希许可；在 {@link PasswordHashingExecutor} 上执行时为 {@code false}，线程池已限流
+     */
+    private boolean matches(CharSequence rawPassword, String encodedPassword, boolean admit) {
+        if (verificationGuard != null) {
+            return verificationGuard.verify(
+                    rawPassword,
+                    encodedPassword,
+                    admit ? this::admittedMatches : passwordEncoder::matches);
+        }
+        return admit
+                ? admittedMatches(rawPassword, encodedPassword)
+                : passwordEncoder.matches(rawPassword, encodedPassword);
+    }
+
+    private boolean admittedMatches(CharSequence rawPassword, String encodedPassword) {
+        if (admissionController != null) {
+            return admissionController.admit(
+                    PasswordAdmissionController.MATCHES,
+                    () -> passwordEncoder.matches(rawPassword, encodedPassword));
+        }
+        return passwordEncoder.matches(rawPassword, encodedPassword);
+    }
+
+    /** 校验与旧参数检测须在同一线程上完成，见 {@link LegacyPbkdf2FallbackPasswordEncoder#track}。 */
+    private boolean verifyAndUpgrade(
+            String subject, CharSequence rawPassword, String encodedPassword, boolean admit) {
+        LegacyPbkdf2FallbackPasswordEncoder.Match match =
+                LegacyPbkdf2FallbackPasswordEncoder.track(
+                        () -> matches(rawPassword, encodedPassword, admit));
+        if (match == LegacyPbkdf2FallbackPasswordEncoder.Match.NONE) {
+            return false;
+        }
+        if (upgradePipeline != null
+                && (match == LegacyPbkdf2FallbackPasswordEncoder.Match.LEGACY
+                        || upgradeEncoding(encodedPassword))) {
+            upgradePipeline.submit(subject, rawPassword, encodedPassword);
+        }
+        return true;
+    }
 }
@@ -0,0 +1,10 @@
+package com.david.core.password.config;
+
+/**
+ * 一次待持久化的密码哈希升级。
+ *
+ * @param subject         调用方传入的用户标识，如用户 id 或用户名
+ * @param previousEncoded 校验时使用的旧哈希，可用于持久化时做条件更新，避免覆盖期间被修改过的密码
+ * @param upgradedEncoded 按当前编码配置重新生成的哈希
+ */
+public record PasswordUpgrade(String subject, String previousEncoded, String upgradedEncoded) {}
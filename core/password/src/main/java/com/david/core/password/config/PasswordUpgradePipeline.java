@@ -0,0 +1,181 @@
+package com.david.core.password.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录校验通过后，在后台按批重新编码需要升级的密码哈希，并交给 {@link PasswordUpgradeSink} 持久化。
+ *
+ * <p>明文在入队时复制为 {@code char[]}，编码完成或被丢弃后立即清零。队列有界，已满或同一 subject 已在排队时直接忽略，
+ * 下次登录会再次触发。关闭时未处理的升级会被丢弃。
+ * 指标：{@code password.upgrade{result=persisted|dropped|failed}}，{@code password.upgrade.queue.size}。
+ */
+@Slf4j
+public final class PasswordUpgradePipeline implements MeterBinder, AutoCloseable {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordUpgradeSink sink;
+    private final int batchSize;
+    private final long batchDelayNanos;
+    private final BlockingQueue<PendingUpgrade> queue;
+    private final Set<String> pendingSubjects = ConcurrentHashMap.newKeySet();
+    private final Thread worker;
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Counter persisted = counter("persisted");
+    private final Counter dropped = counter("dropped");
+    private final Counter failed = counter("failed");
+
+    /**
+     * @param batchSize     每批交给 sink 的最大数量
+     * @param batchDelay    收到第一条后等待凑批的最长时间
+     * @param queueCapacity 等待升级的最大数量
+     */
+    public PasswordUpgradePipeline(
+            PasswordEncoder passwordEncoder,
+            PasswordUpgradeSink sink,
+            int batchSize,
+            Duration batchDelay,
+            int queueCapacity) {
+        if (batchSize <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException(
+                    "batchSize 与 queueCapacity 必须大于 0: " + batchSize + ", " + queueCapacity);
+        }
+        this.passwordEncoder = passwordEncoder;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.batchDelayNanos = Math.max(0L, batchDelay.toNanos());
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        Gauge.builder("password.upgrade.queue.size", queue, BlockingQueue::size)
+                .description("等待重新编码的密码数量")
+                .register(registry);
+        this.worker = new Thread(this::run, "password-upgrade");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** 提交一次升级，立即返回；未能入队时返回 {@code false}。 */
+    public boolean submit(String subject, CharSequence rawPassword, String encodedPassword) {
+        if (!pendingSubjects.add(subject)) {
+            return false;
+        }
+        char[] raw = new char[rawPassword.length()];
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = rawPassword.charAt(i);
+        }
+        if (queue.offer(new PendingUpgrade(subject, raw, encodedPassword))) {
+            return true;
+        }
+        Arrays.fill(raw, '\0');
+        pendingSubjects.remove(subject);
+        dropped.increment();
+        return false;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        discardPending();
+    }
+
+    private void run() {
+        List<PendingUpgrade> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + batchDelayNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingUpgrade next =
+                            remaining > 0
+                                    ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                                    : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingUpgrade> batch) {
+        List<PasswordUpgrade> upgrades = new ArrayList<>(batch.size());
+        for (PendingUpgrade pending : batch) {
+            try {
+                String upgraded = passwordEncoder.encode(CharBuffer.wrap(pending.rawPassword()));
+                upgrades.add(
+                        new PasswordUpgrade(pending.subject(), pending.encodedPassword(), upgraded));
+            } catch (RuntimeException ex) {
+                failed.increment();
+                log.warn("重新编码密码失败，subject: {}", pending.subject(), ex);
+            } finally {
+                Arrays.fill(pending.rawPassword(), '\0');
+                pendingSubjects.remove(pending.subject());
+            }
+        }
+        if (upgrades.isEmpty()) {
+            return;
+        }
+        try {
+            sink.persist(upgrades);
+            persisted.increment(upgrades.size());
+        } catch (RuntimeException ex) {
+            failed.increment(upgrades.size());
+            log.warn("持久化 {} 条密码升级失败，将在用户下次登录时重试", upgrades.size(), ex);
+        }
+    }
+
+    private void discardPending() {
+        PendingUpgrade pending;
+        while ((pending = queue.poll()) != null) {
+            Arrays.fill(pending.rawPassword(), '\0');
+            pendingSubjects.remove(pending.subject());
+            dropped.increment();
+        }
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("password.upgrade")
+                .description("登录后密码哈希升级结果")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record PendingUpgrade(String subject, char[] rawPassword, String encodedPassword) {}
+}
@@ -0,0 +1,15 @@
+package com.david.core.password.config;
+
+import java.util.List;
+
+/**
+ * 持久化升级后的密码哈希，由使用方实现并注册为 Bean。
+ *
+ * <p>在 {@link PasswordUpgradePipeline} 的后台线程上按批调用；抛出的异常只记录日志，该批升级会被丢弃，
+ * 用户下次登录时会再次触发升级。
+ */
+@FunctionalInterface
+public interface PasswordUpgradeSink {
+
+    void persist(List<PasswordUpgrade> upgrades);
+}
@@ -0,0 +1,216 @@
+package com.david.core.password.config;
+
+import com.david.core.exception.BusinessException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * 撞库防护：记住近期失败的（哈希，尝试密码）组合，重复尝试直接判定失败而不再计算哈希；同时限制同一哈希的并发校验数。
+ *
+ * <p>失败记录只保存以进程内随机密钥计算的 HMAC-SHA256 摘要前 128 位，不保存明文，密钥不落盘，重启后记录随之失效。
+ * 记录有统一的过期时间与数量上限，写入顺序即过期顺序：每次记录失败时从队首移除已过期的记录，超出上限时继续淘汰最早的记录，
+ * 每条记录只出队一次，清理开销摊到每次写入上是常数。
+ * 指标：{@code password.guard{result=repeat_rejected|concurrency_rejected}}，{@code password.guard.failures.size}。
+ */
+public final class PasswordVerificationGuard implements MeterBinder {
+
+    static final String TOO_MANY_REQUESTS_MESSAGE = "该账户校验请求过多，请稍后重试";
+
+    private static final BusinessException TOO_MANY_REQUESTS =
+            BusinessException.prebuilt(HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_MESSAGE);
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final long failureTtlNanos;
+    private final int maxFailures;
+    private final int maxConcurrentPerHash;
+    private final ConcurrentHashMap<FailureKey, Long> failures;
+    private final ConcurrentLinkedQueue<Recorded> recorded = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+    private final Counter repeatRejected = counter("repeat_rejected");
+    private final Counter concurrencyRejected = counter("concurrency_rejected");
+
+    /**
+     * @param failureTtl           失败记录的保留时间
+     * @param maxFailures          失败记录数量上限
+     * @param maxConcurrentPerHash 同一哈希允许的并发校验数，小于等于 0 表示不限制
+     */
+    public PasswordVerificationGuard(
+            Duration failureTtl, int maxFailures, int maxConcurrentPerHash) {
+        if (maxFailures <= 0) {
+            throw new IllegalArgumentException("maxFailures 必须大于 0: " + maxFailures);
+        }
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        Arrays.fill(secret, (byte) 0);
+        this.prototype = newMac();
+        this.failureTtlNanos = failureTtl.toNanos();
+        this.maxFailures = maxFailures;
+        this.maxConcurrentPerHash = maxConcurrentPerHash;
+        this.failures = new ConcurrentHashMap<>(Math.min(maxFailures, 1024));
+        Gauge.builder("password.guard.failures.size", failures, Map::size)
+                .description("当前记录的失败组合数")
+                .register(registry);
+    }
+
+    /**
+     * 经防护后执行校验。
+     *
+     * @throws BusinessException 同一哈希的并发校验数超出上限时，状态为 429
+     */
+    boolean verify(
+            CharSequence rawPassword,
+            String encodedPassword,
+            BiPredicate<CharSequence, String> verifier) {
+        FailureKey failureKey = failureKey(rawPassword, encodedPassword);
+        Long expiresAt = failures.get(failureKey);
+        if (expiresAt != null) {
+            if (expiresAt - System.nanoTime() > 0) {
+                repeatRejected.increment();
+                return false;
+            }
+            failures.remove(failureKey, expiresAt);
+        }
+        acquire(encodedPassword);
+        try {
+            boolean matched = verifier.test(rawPassword, encodedPassword);
+            if (!matched) {
+                recordFailure(failureKey);
+            }
+            return matched;
+        } finally {
+            release(encodedPassword);
+        }
+    }
+
+    public int failureCount() {
+        return failures.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    private void acquire(String encodedPassword) {
+        if (maxConcurrentPerHash <= 0) {
+            return;
+        }
+        AtomicInteger count =
+                inFlight.compute(
+                        encodedPassword,
+                        (hash, current) -> {
+                            if (current == null) {
+                                return new AtomicInteger(1);
+                            }
+                            current.incrementAndGet();
+                            return current;
+                        });
+        if (count.get() > maxConcurrentPerHash) {
+            release(encodedPassword);
+            concurrencyRejected.increment();
+            throw TOO_MANY_REQUESTS;
+        }
+    }
+
+    private void release(String encodedPassword) {
+        if (maxConcurrentPerHash <= 0) {
+            return;
+        }
+        inFlight.computeIfPresent(
+                encodedPassword, (hash, current) -> current.decrementAndGet() == 0 ? null : current);
+    }
+
+    private void recordFailure(FailureKey failureKey) {
+        long now = System.nanoTime();
+        long expiresAt = now + failureTtlNanos;
+        failures.put(failureKey, expiresAt);
+        recorded.add(new Recorded(failureKey, expiresAt));
+        expire(now);
+    }
+
+    private void expire(long now) {
+        Recorded head;
+        while ((head = recorded.peek()) != null
+                && (head.expiresAt() - now <= 0 || failures.size() > maxFailures)) {
+            // 记录已被覆盖或在校验时移除的，只出队不删除
+            if (recorded.remove(head)) {
+                failures.remove(head.key(), head.expiresAt());
+            }
+        }
+    }
+
+    private FailureKey failureKey(CharSequence rawPassword, String encodedPassword) {
+        Mac mac = mac();
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        ByteBuffer raw = StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword));
+        try {
+            mac.update(raw.duplicate());
+        } finally {
+            if (raw.hasArray()) {
+                Arrays.fill(raw.array(), (byte) 0);
+            }
+        }
+        ByteBuffer digest = ByteBuffer.wrap(mac.doFinal());
+        return new FailureKey(digest.getLong(), digest.getLong());
+    }
+
+    /** Mac 非线程安全，从已初始化的原型克隆以避免每次查找算法提供者。 */
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("无法初始化 " + ALGORITHM, ex);
+        }
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("password.guard")
+                .description("撞库防护拦截的校验请求")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private record FailureKey(long high, long low) {}
+
+    private record Recorded(FailureKey key, long expiresAt) {}
+}
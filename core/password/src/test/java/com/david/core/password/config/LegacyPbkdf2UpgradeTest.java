@@ -0,0 +1,127 @@
+package com.david.core.password.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+class LegacyPbkdf2UpgradeTest {
+
+    private static final String SECRET = "secret";
+    private static final String RAW = "correct horse battery staple";
+    private static final Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm ALGORITHM =
+            Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256;
+
+    private final Pbkdf2PasswordEncoder current =
+            new Pbkdf2PasswordEncoder(SECRET, 16, 1_000, ALGORITHM);
+    private final Pbkdf2PasswordEncoder legacy =
+            new Pbkdf2PasswordEncoder(SECRET, 16, 256, ALGORITHM);
+    private final LegacyPbkdf2FallbackPasswordEncoder fallback =
+            new LegacyPbkdf2FallbackPasswordEncoder(current, legacy);
+
+    private final BlockingQueue<PasswordUpgrade> persisted = new LinkedBlockingQueue<>();
+    private PasswordUpgradePipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new PasswordUpgradePipeline(fallback, persisted::addAll, 10, Duration.ZERO, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void legacyHashIsUpgradedAfterMatch() throws InterruptedException {
+        String legacyHash = legacy.encode(RAW);
+        assertThat(current.matches(RAW, legacyHash)).isFalse();
+
+        PasswordService service = new PasswordService(fallback, null, pipeline, null, null);
+        assertThat(service.matchesAndUpgrade("alice", RAW, legacyHash)).isTrue();
+
+        PasswordUpgrade upgrade = persisted.poll(5, TimeUnit.SECONDS);
+        assertThat(upgrade).isNotNull();
+        assertThat(upgrade.subject()).isEqualTo("alice");
+        assertThat(upgrade.previousEncoded()).isEqualTo(legacyHash);
+        assertThat(current.matches(RAW, upgrade.upgradedEncoded())).isTrue();
+    }
+
+    @Test
+    void legacyHashBehindDelegatingEncoderIsUpgraded() throws InterruptedException {
+        PasswordEncoder delegating =
+                new DelegatingPasswordEncoder("pbkdf2", Map.of("pbkdf2", fallback));
+        String legacyHash = "{pbkdf2}" + legacy.encode(RAW);
+
+        PasswordService service = new PasswordService(delegating, null, pipeline, null, null);
+        assertThat(service.matchesAndUpgrade("bob", RAW, legacyHash)).isTrue();
+
+        PasswordUpgrade upgrade = persisted.poll(5, TimeUnit.SECONDS);
+        assertThat(upgrade).isNotNull();
+        assertThat(upgrade.subject()).isEqualTo("bob");
+        assertThat(upgrade.previousEncoded()).isEqualTo(legacyHash);
+    }
+
+    @Test
+    void legacyHashIsUpgradedAfterAsyncMatch() throws InterruptedException {
+        String legacyHash = legacy.encode(RAW);
+        try (PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 4)) {
+            PasswordService service = new PasswordService(fallback, executor, pipeline, null, null);
+            assertThat(service.matchesAndUpgradeAsync("carol", RAW, legacyHash))
+                    .succeedsWithin(Duration.ofSeconds(5))
+                    .isEqualTo(true);
+        }
+
+        PasswordUpgrade upgrade = persisted.poll(5, TimeUnit.SECONDS);
+        assertThat(upgrade).isNotNull();
+        assertThat(upgrade.subject()).isEqualTo("carol");
+    }
+
+    @Test
+    void currentHashIsNotUpgraded() throws InterruptedException {
+        String currentHash = current.encode(RAW);
+
+        PasswordService service = new PasswordService(fallback, null, pipeline, null, null);
+        assertThat(service.matchesAndUpgrade("dave", RAW, currentHash)).isTrue();
+
+        assertThat(persisted.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void wrongPasswordIsNotUpgraded() throws InterruptedException {
+        String legacyHash = legacy.encode(RAW);
+
+        PasswordService service = new PasswordService(fallback, null, pipeline, null, null);
+        assertThat(service.matchesAndUpgrade("erin", "wrong", legacyHash)).isFalse();
+
+        assertThat(persisted.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void trackingIsScopedToTheCall() {
+        String legacyHash = legacy.encode(RAW);
+        String currentHash = current.encode(RAW);
+
+        // 未在 track 内调用时不记录，也不影响之后的校验
+        assertThat(fallback.matches(RAW, legacyHash)).isTrue();
+        assertThat(LegacyPbkdf2FallbackPasswordEncoder.track(
+                        () -> fallback.matches(RAW, legacyHash)))
+                .isEqualTo(LegacyPbkdf2FallbackPasswordEncoder.Match.LEGACY);
+        assertThat(LegacyPbkdf2FallbackPasswordEncoder.track(
+                        () -> fallback.matches(RAW, currentHash)))
+                .isEqualTo(LegacyPbkdf2FallbackPasswordEncoder.Match.CURRENT);
+        assertThat(LegacyPbkdf2FallbackPasswordEncoder.track(
+                        () -> fallback.matches("wrong", legacyHash)))
+                .isEqualTo(LegacyPbkdf2FallbackPasswordEncoder.Match.NONE);
+    }
+}
@@ -0,0 +1,92 @@
+package com.david.core.password.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.david.core.exception.BusinessException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PasswordAdmissionTest {
+
+    private static final String RAW = "correct horse battery staple";
+
+    private final Pbkdf2PasswordEncoder encoder =
+            new Pbkdf2PasswordEncoder("secret", 16, 1_000, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    private final PasswordAdmissionController admission =
+            new PasswordAdmissionController(1, Duration.ofMillis(50));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashingExecutor executor;
+    private CompletableFuture<Void> holder;
+
+    @BeforeEach
+    void holdTheOnlyPermit() throws InterruptedException {
+        executor = new PasswordHashingExecutor(1, 4);
+        CountDownLatch held = new CountDownLatch(1);
+        holder =
+                CompletableFuture.runAsync(
+                        () ->
+                                admission.admit(
+                                        PasswordAdmissionController.ENCODE,
+                                        () -> {
+                                            held.countDown();
+                                            await(release);
+                                            return null;
+                                        }));
+        assertThat(held.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        holder.join();
+        executor.close();
+    }
+
+    @Test
+    void synchronousCallsWaitForPermits() {
+        PasswordService service = new PasswordService(encoder, executor, null, null, admission);
+        String encoded = encoder.encode(RAW);
+
+        assertThatThrownBy(() -> service.matches(RAW, encoded))
+                .isInstanceOf(BusinessException.class)
+                .extracting(ex -> ((BusinessException) ex).getStatus())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void asynchronousCallsOnTheHashingPoolSkipAdmission() {
+        PasswordService service = new PasswordService(encoder, executor, null, null, admission);
+        String encoded = encoder.encode(RAW);
+
+        assertThat(service.matchesAsync(RAW, encoded))
+                .succeedsWithin(Duration.ofSeconds(5))
+                .isEqualTo(true);
+        assertThat(service.matchesAndUpgradeAsync("alice", RAW, encoded))
+                .succeedsWithin(Duration.ofSeconds(5))
+                .isEqualTo(true);
+        assertThat(service.encodeAsync(RAW))
+                .succeedsWithin(Duration.ofSeconds(5))
+                .satisfies(hash -> assertThat(encoder.matches(RAW, hash)).isTrue());
+        assertThat(admission.getAvailablePermits()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.david.core.security;
 
+import com.david.core.forward.ForwardedPathIndex;
 import com.david.core.forward.ForwardedUserContextFilter;
 import com.david.core.forward.ForwardedSecurityAutoConfiguration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -13,20 +18,25 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplicat
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.HttpMethod;
 import org.springframework.lang.NonNull;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.core.GrantedAuthorityDefaults;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.util.CollectionUtils;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.List;
 
 /** 提供下游服务默认的安全配置，实现与网关转发身份的无缝衔接。 */
@@ -63,8 +73,10 @@ public class DownstreamSecurityAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     ForwardedSecurityContextHolderInitializer forwardedSecurityContextHolderInitializer(
-            ForwardedSecurityProperties properties) {
-        return new ForwardedSecurityContextHolderInitializer(properties);
+            ForwardedSecurityProperties properties,
+            ObjectProvider<ScopedSecurityContextHolderStrategy> scopedStrategy) {
+        return new ForwardedSecurityContextHolderInitializer(
+                properties, scopedStrategy.getIfAvailable());
     }
 
     @Bean
@@ -88,17 +100,32 @@ public class DownstreamSecurityAutoConfiguration {
         return new ForwardedAccessDeniedHandler(writer, properties);
     }
 
+    /** permitAll 路径（可选并入默认白名单）编译后的索引，供授权规则与转发过滤器共用。 */
+    @Bean
+    @ConditionalOnMissingBean(name = "forwardedPublicPathIndex")
+    ForwardedPathIndex forwardedPublicPathIndex(ForwardedSecurityProperties properties) {
+        List<String> patterns = new ArrayList<>(properties.getPermitAll());
+        if (properties.isIncludeDefaultWhiteList()) {
+            patterns.addAll(ForwardedPathIndex.defaultWhiteListPaths());
+        }
+        return ForwardedPathIndex.of(patterns);
+    }
+
     @Bean
     @ConditionalOnBean(ForwardedUserContextFilter.class)
     @ConditionalOnMissingBean(SecurityFilterChain.class)
     SecurityFilterChain forwardedSecurityFilterChain(
             HttpSecurity http,
             ForwardedSecurityProperties properties,
+            ForwardedPathIndex forwardedPublicPathIndex,
             ForwardedUserContextFilter forwardedUserContextFilter,
             ForwardedAccessDeniedHandler accessDeniedHandler,
             ForwardedAuthenticationEntryPoint authenticationEntryPoint)
             throws Exception {
-        configureHttpSecurity(http, properties);
+        configureHttpSecurity(http, properties, forwardedPublicPathIndex);
+        if (properties.isSkipPublicPaths()) {
+            forwardedUserContextFilter.setPublicPaths(forwardedPublicPathIndex);
+        }
         http.addFilterBefore(
                 forwardedUserContextFilter, UsernamePasswordAuthenticationFilter.class);
         http.exceptionHandling(
@@ -109,7 +136,10 @@ public class DownstreamSecurityAutoConfiguration {
         return http.build();
     }
 
-    private void configureHttpSecurity(HttpSecurity http, ForwardedSecurityProperties properties)
+    private void configureHttpSecurity(
+            HttpSecurity http,
+            ForwardedSecurityProperties properties,
+            ForwardedPathIndex publicPathIndex)
             throws Exception {
         if (!properties.isCsrfEnabled()) {
             http.csrf(AbstractHttpConfigurer::disable);
@@ -128,17 +158,42 @@ public class DownstreamSecurityAutoConfiguration {
                     if (properties.isAllowPreflight()) {
                         authorize.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
                     }
-                    List<String> permitAll = properties.getPermitAll();
-                    if (!CollectionUtils.isEmpty(permitAll)) {
-                        permitAll.stream()
-                                .map(AntPathRequestMatcher::new)
-                                .forEach(matcher -> authorize.requestMatchers(matcher).permitAll());
-                    }
+                    // 所有放行路径编译为一个匹配器，每个请求只做一次前缀树遍历
+                    authorize
+                            .requestMatchers(new ForwardedPathIndexRequestMatcher(publicPathIndex))
+                            .permitAll();
                     // 根据指令，默认放行所有请求，这是微服务内部的security
                     authorize.anyRequest().permitAll();
                 });
     }
 
+    /**
+     * 作用域绑定的安全上下文策略。以 Bean 形式暴露，Spring Security 构建过滤器链与方法鉴权时会使用同一策略；
+     * 安装到 {@link SecurityContextHolder} 由 {@link ForwardedSecurityContextHolderInitializer} 统一完成，
+     * 创建 Bean 本身没有全局副作用。
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(
+            prefix = "app.security.forwarded",
+            name = "context-strategy",
+            havingValue = "scoped")
+    static class ScopedSecurityContextConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(SecurityContextHolderStrategy.class)
+        ScopedSecurityContextHolderStrategy scopedSecurityContextHolderStrategy() {
+            return new ScopedSecurityContextHolderStrategy();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(TaskDecorator.class)
+        @ConditionalOnBean(ScopedSecurityContextHolderStrategy.class)
+        SecurityContextPropagatingTaskDecorator securityContextPropagatingTaskDecorator(
+                ScopedSecurityContextHolderStrategy strategy) {
+            return new SecurityContextPropagatingTaskDecorator(strategy);
+        }
+    }
+
     @Configuration(proxyBeanMethods = false)
     @ConditionalOnClass(SecurityContextHolderStrategy.class)
     @ConditionalOnProperty(
@@ -147,5 +202,53 @@ public class DownstreamSecurityAutoConfiguration {
             havingValue = "true",
             matchIfMissing = true)
     @EnableMethodSecurity
-    static class ForwardedMethodSecurityConfiguration {}
+    static class ForwardedMethodSecurityConfiguration {
+
+        /**
+         * 在标准的方法鉴权配置之上，为 {@code @PreAuthorize} 拦截器加上
+         * {@link ForwardedRoleAuthorizationManager} 的快速路径；表达式处理器、角色继承与其余三个拦截器均沿用标准配置。
+         */
+        @Configuration(proxyBeanMethods = false)
+        @ConditionalOnProperty(
+                prefix = "app.security.forwarded.method-security",
+                name = "fast-role-checks",
+                havingValue = "true")
+        static class FastRoleCheckConfiguration {
+
+            @Bean
+            @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+            static ForwardedRoleAuthorizationManager forwardedRoleAuthorizationManager(
+                    ObjectProvider<GrantedAuthorityDefaults> authorityDefaults) {
+                GrantedAuthorityDefaults defaults = authorityDefaults.getIfAvailable();
+                return new ForwardedRoleAuthorizationManager(
+                        defaults != null ? defaults.getRolePrefix() : "ROLE_");
+            }
+
+            @Bean
+            @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+            static ForwardedPreAuthorizeAdvisorPostProcessor forwardedPreAuthorizeAdvisorPostProcessor(
+                    ObjectProvider<ForwardedRoleAuthorizationManager> forwardedRoleAuthorizationManager) {
+                return new ForwardedPreAuthorizeAdvisorPostProcessor(forwardedRoleAuthorizationManager);
+            }
+
+            /**
+             * 单例初始化完成后、开始接收请求之前，解析所有 Bean 上的 {@code @PreAuthorize} 并登记其中的权限，
+             * 登记顺序不再取决于请求到达的先后。
+             */
+            @Bean
+            @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+            static SmartInitializingSingleton forwardedRolePreloader(
+                    ForwardedRoleAuthorizationManager forwardedRoleAuthorizationManager,
+                    ConfigurableListableBeanFactory beanFactory) {
+                return () -> {
+                    for (String name : beanFactory.getBeanDefinitionNames()) {
+                        Class<?> type = beanFactory.getType(name, false);
+                        if (type != null && !Proxy.isProxyClass(type)) {
+                            forwardedRoleAuthorizationManager.preload(ClassUtils.getUserClass(type));
+                        }
+                    }
+                };
+            }
+        }
+    }
 }
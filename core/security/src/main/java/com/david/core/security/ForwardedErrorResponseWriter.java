@@ -1,9 +1,12 @@
 package com.david.core.security;
 
+import com.david.core.http.ApiError;
 import com.david.core.http.ApiResponse;
+import com.david.core.http.ApiTimestamps;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpStatus;
@@ -13,46 +16,222 @@ import org.springframework.util.StringUtils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** 以统一格式向客户端输出安全异常响应。 */
-record ForwardedErrorResponseWriter(ObjectMapper objectMapper) {
+/**
+ * 以统一格式向客户端输出安全异常响应。
+ *
+ * <p>提示信息来自固定配置，每个状态码与提示信息的组合只经 {@link ObjectMapper} 序列化一次，结果拆成时间戳前后两段
+ * 字节模板缓存起来；之后每次响应只格式化时间戳并按段写出。只有当 {@link ObjectMapper} 对时间戳的输出与
+ * ISO-8601 UTC 格式一致时才由这里格式化，否则时间戳仍交给 {@link ObjectMapper}，以保证与原有输出逐字节一致。
+ */
+final class ForwardedErrorResponseWriter {
+
+    /** 模板缓存上限，提示信息均为配置项，正常情况下远达不到。 */
+    static final int MAX_TEMPLATES = 64;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+            DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+    /** 定位时间戳用的标记值，纳秒部分保证不会与其他字段内容重合。 */
+    private static final OffsetDateTime MARKER =
+            OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 123_456_789, ZoneOffset.UTC);
+
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+
+    private final ObjectMapper objectMapper;
+    private final boolean isoTimestamps;
+    private final ConcurrentHashMap<TemplateKey, Template> templates = new ConcurrentHashMap<>();
 
     ForwardedErrorResponseWriter(@Nullable ObjectMapper objectMapper) {
         this.objectMapper = objectMapper != null ? objectMapper : new ObjectMapper();
+        this.isoTimestamps = writesIsoTimestamps(this.objectMapper);
     }
 
     void write(HttpServletResponse response, HttpStatus status, String message) throws IOException {
         if (response.isCommitted()) {
             return;
         }
-        String resolvedMessage = StringUtils.hasText(message) ? message : status.getReasonPhrase();
-        ApiResponse<Void> payload =
-                ApiResponse.failure(status.value(), status.name(), resolvedMessage);
-        byte[] body = serialize(payload, status, resolvedMessage);
+        Template template = template(status, message);
+        if (template == Template.DYNAMIC) {
+            byte[] body = serialize(status, message);
+            response.setStatus(status.value());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setContentType(CONTENT_TYPE);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            response.getOutputStream().flush();
+            return;
+        }
+        byte[] timestamp = template.timestamped() ? timestamp() : null;
         response.setStatus(status.value());
         response.setCharacterEncoding(StandardCharsets.UTF_8.name());
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8");
-        response.getOutputStream().write(body);
-        response.getOutputStream().flush();
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(template.contentLength(timestamp));
+        ServletOutputStream outputStream = response.getOutputStream();
+        outputStream.write(template.prefix());
+        if (timestamp != null) {
+            outputStream.write(timestamp);
+            outputStream.write(template.suffix());
+        }
+        outputStream.flush();
     }
 
-    private byte[] serialize(ApiResponse<Void> payload, HttpStatus status, String fallbackMessage) {
+    /** 渲染完整响应体，供不便分段写出的调用方使用。 */
+    byte[] render(HttpStatus status, String message) {
+        Template template = template(status, message);
+        if (template == Template.DYNAMIC) {
+            return serialize(status, message);
+        }
+        if (!template.timestamped()) {
+            return template.prefix();
+        }
+        byte[] timestamp = timestamp();
+        byte[] body = new byte[template.contentLength(timestamp)];
+        int offset = template.prefix().length;
+        System.arraycopy(template.prefix(), 0, body, 0, offset);
+        System.arraycopy(timestamp, 0, body, offset, timestamp.length);
+        offset += timestamp.length;
+        System.arraycopy(template.suffix(), 0, body, offset, template.suffix().length);
+        return body;
+    }
+
+    Template template(HttpStatus status, String message) {
+        TemplateKey key = new TemplateKey(status, message);
+        Template template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = buildTemplate(status, message);
+        if (templates.size() < MAX_TEMPLATES) {
+            templates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    /** 当前时间戳在响应体中的字节，与模板中标记值的位置一一对应。 */
+    byte[] timestamp() {
+        OffsetDateTime now = ApiTimestamps.now();
+        if (isoTimestamps) {
+            return ApiTimestamps.format(now).getBytes(StandardCharsets.ISO_8859_1);
+        }
         try {
-            return objectMapper.writeValueAsBytes(payload);
+            return objectMapper.writeValueAsBytes(now);
         } catch (JsonProcessingException ex) {
-            String fallback =
-                    "{\"status\":"
-                            + status.value()
-                            + ",\"code\":\""
-                            + status.name()
-                            + "\",\"message\":\""
-                            + escape(fallbackMessage)
-                            + "\"}";
-            return fallback.getBytes(StandardCharsets.UTF_8);
+            throw new IllegalStateException("无法序列化时间戳", ex);
         }
     }
 
-    private String escape(String input) {
+    private byte[] serialize(HttpStatus status, String message) {
+        String resolvedMessage = resolveMessage(status, message);
+        try {
+            return objectMapper.writeValueAsBytes(
+                    ApiResponse.failure(status.value(), status.name(), resolvedMessage));
+        } catch (JsonProcessingException ex) {
+            return fallback(status, resolvedMessage);
+        }
+    }
+
+    private Template buildTemplate(HttpStatus status, String message) {
+        String resolvedMessage = resolveMessage(status, message);
+        ApiResponse<Void> payload =
+                new ApiResponse<>(
+                        false,
+                        null,
+                        ApiError.of(status.value(), status.name(), resolvedMessage),
+                        MARKER,
+                        null);
+        byte[] body;
+        byte[] marker;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+            marker = markerBytes();
+        } catch (JsonProcessingException ex) {
+            return new Template(fallback(status, resolvedMessage), null);
+        }
+        int index = indexOf(body, marker, 0);
+        if (index < 0 || indexOf(body, marker, index + 1) >= 0) {
+            // 找不到唯一的时间戳位置（如自定义了 ApiResponse 的序列化），退回每次完整序列化
+            return Template.DYNAMIC;
+        }
+        return new Template(
+                Arrays.copyOfRange(body, 0, index),
+                Arrays.copyOfRange(body, index + marker.length, body.length));
+    }
+
+    private static String resolveMessage(HttpStatus status, String message) {
+        return StringUtils.hasText(message) ? message : status.getReasonPhrase();
+    }
+
+    private byte[] markerBytes() throws JsonProcessingException {
+        if (isoTimestamps) {
+            return TIMESTAMP_FORMATTER.format(MARKER).getBytes(StandardCharsets.ISO_8859_1);
+        }
+        return objectMapper.writeValueAsBytes(MARKER);
+    }
+
+    private static boolean writesIsoTimestamps(ObjectMapper objectMapper) {
+        try {
+            String expected = "\"" + TIMESTAMP_FORMATTER.format(MARKER) + "\"";
+            return expected.equals(objectMapper.writeValueAsString(MARKER));
+        } catch (JsonProcessingException ex) {
+            return false;
+        }
+    }
+
+    private static int indexOf(byte[] source, byte[] target, int from) {
+        int last = source.length - target.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] fallback(HttpStatus status, String message) {
+        String fallback =
+                "{\"status\":"
+                        + status.value()
+                        + ",\"code\":\""
+                        + status.name()
+                        + "\",\"message\":\""
+                        + escape(message)
+                        + "\"}";
+        return fallback.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String input) {
         return input.replace("\"", "\\\"");
     }
+
+    private record TemplateKey(HttpStatus status, String message) {}
+
+    /**
+     * 响应体模板；{@code suffix} 为 {@code null} 时 {@code prefix} 即完整响应体，不含时间戳。{@link #DYNAMIC}
+     * 表示无法拆分，需要每次完整序列化。
+     */
+    record Template(byte[] prefix, @Nullable byte[] suffix) {
+
+        static final Template DYNAMIC = new Template(new byte[0], null);
+
+        boolean timestamped() {
+            return suffix != null;
+        }
+
+        int contentLength(@Nullable byte[] timestamp) {
+            if (suffix == null || timestamp == null) {
+                return prefix.length;
+            }
+            return prefix.length + timestamp.length + suffix.length;
+        }
+    }
 }
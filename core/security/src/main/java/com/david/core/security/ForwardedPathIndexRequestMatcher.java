@@ -0,0 +1,16 @@
+package com.david.core.security;
+
+import com.david.core.forward.ForwardedPathIndex;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+/** 以单个 {@link RequestMatcher} 暴露 {@link ForwardedPathIndex}，替代逐条注册的 {@code AntPathRequestMatcher}。 */
+public record ForwardedPathIndexRequestMatcher(ForwardedPathIndex index) implements RequestMatcher {
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return index.matches(request);
+    }
+}
@@ -0,0 +1,19 @@
+package com.david.core.security;
+
+import com.david.core.forward.ForwardedPathIndex;
+
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/** {@link ForwardedPathIndexRequestMatcher} 的 WebFlux 版本，按应用内路径匹配。 */
+public record ForwardedPathIndexServerWebExchangeMatcher(ForwardedPathIndex index)
+        implements ServerWebExchangeMatcher {
+
+    @Override
+    public Mono<MatchResult> matches(ServerWebExchange exchange) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        return index.matches(path) ? MatchResult.match() : MatchResult.notMatch();
+    }
+}
@@ -0,0 +1,47 @@
+package com.david.core.security;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.lang.NonNull;
+
+/**
+ * 把 {@code @EnableMethodSecurity} 注册的 {@code @PreAuthorize} 拦截器替换为
+ * {@link ForwardedPreAuthorizeMethodInterceptor}。实现 {@link PriorityOrdered}，保证在自动代理创建器取用 Advisor
+ * 之前完成注册。
+ */
+@Slf4j
+final class ForwardedPreAuthorizeAdvisorPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+    /** Spring Security {@code PrePostMethodSecurityConfiguration} 中的 Bean 名称。 */
+    static final String PRE_AUTHORIZE_INTERCEPTOR = "preAuthorizeAuthorizationMethodInterceptor";
+
+    private final ObjectProvider<ForwardedRoleAuthorizationManager> manager;
+
+    ForwardedPreAuthorizeAdvisorPostProcessor(
+            ObjectProvider<ForwardedRoleAuthorizationManager> manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!PRE_AUTHORIZE_INTERCEPTOR.equals(beanName)) {
+            return bean;
+        }
+        if (bean instanceof MethodInterceptor && bean instanceof PointcutAdvisor) {
+            return new ForwardedPreAuthorizeMethodInterceptor(
+                    (MethodInterceptor & PointcutAdvisor) bean, manager.getObject());
+        }
+        log.warn("{} 的类型 {} 无法包装，@PreAuthorize 不使用快速路径", beanName, bean.getClass().getName());
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,65 @@
+package com.david.core.security;
+
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.AopInfrastructureBean;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * 包装 {@code @EnableMethodSecurity} 注册的 {@code @PreAuthorize} 拦截器：{@link ForwardedRoleAuthorizationManager}
+ * 判定放行时直接调用目标方法，否则交给原拦截器按 SpEL 求值。切点与顺序沿用原拦截器，表达式处理器、角色继承、
+ * 拒绝事件与拒绝处理均保持标准配置；快速路径放行的调用不产生授权观测记录。
+ */
+final class ForwardedPreAuthorizeMethodInterceptor
+        implements MethodInterceptor, PointcutAdvisor, AopInfrastructureBean, Ordered {
+
+    /** 每次调用时读取当前策略，作用域策略可能在拦截器创建之后才安装。 */
+    private static final Supplier<Authentication> AUTHENTICATION =
+            () -> SecurityContextHolder.getContextHolderStrategy().getContext().getAuthentication();
+
+    private final MethodInterceptor delegate;
+    private final PointcutAdvisor advisor;
+    private final ForwardedRoleAuthorizationManager manager;
+
+    <T extends MethodInterceptor & PointcutAdvisor> ForwardedPreAuthorizeMethodInterceptor(
+            T delegate, ForwardedRoleAuthorizationManager manager) {
+        this.delegate = delegate;
+        this.advisor = delegate;
+        this.manager = manager;
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        AuthorizationDecision decision = manager.check(AUTHENTICATION, invocation);
+        if (decision != null && decision.isGranted()) {
+            return invocation.proceed();
+        }
+        return delegate.invoke(invocation);
+    }
+
+    @Override
+    @NonNull
+    public Pointcut getPointcut() {
+        return advisor.getPointcut();
+    }
+
+    @Override
+    @NonNull
+    public Advice getAdvice() {
+        return this;
+    }
+
+    @Override
+    public int getOrder() {
+        return advisor instanceof Ordered ordered ? ordered.getOrder() : Ordered.LOWEST_PRECEDENCE;
+    }
+}
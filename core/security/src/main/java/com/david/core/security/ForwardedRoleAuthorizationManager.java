@@ -0,0 +1,165 @@
+package com.david.core.security;
+
+import com.david.core.forward.ForwardedAuthenticationToken;
+import com.david.core.forward.ForwardedRoleRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PreAuthorize} 的快速路径：表达式仅为单个 {@code hasRole}/{@code hasAnyRole}/{@code hasAuthority}/
+ * {@code hasAnyAuthority} 调用且参数均为字面量时，针对 {@link ForwardedAuthenticationToken} 直接以位运算判断，
+ * 不经 SpEL 求值。
+ *
+ * <p>只做放行判断：令牌直接持有所需权限时返回放行，其余情况（未持有、表达式不是简单形式、其他认证类型、
+ * 权限位图无法判断）一律返回 {@code null}，由 {@link ForwardedPreAuthorizeMethodInterceptor} 交给标准的
+ * {@code @PreAuthorize} 拦截器按 SpEL 求值。直接持有权限时 SpEL 必然放行，角色继承（{@code RoleHierarchy}）
+ * 只会扩大可达权限，因此快速路径与标准判断的结果一致，拒绝事件与拒绝处理也仍由标准拦截器负责。
+ *
+ * <p>每个方法的表达式只解析一次；解析时即向 {@link ForwardedRoleRegistry} 登记所需权限，
+ * 有任一权限无法登记（登记表已满）时该方法不走快速路径，并记录警告。启动时由 {@link #preload(Class)}
+ * 预先解析所有 Bean 上的注解，使权限在接收请求之前登记完毕。
+ */
+@Slf4j
+public final class ForwardedRoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Pattern SIMPLE_EXPRESSION =
+            Pattern.compile(
+                    "^\\s*(hasRole|hasAnyRole|hasAuthority|hasAnyAuthority)\\s*\\((.*)\\)\\s*$",
+                    Pattern.DOTALL);
+
+    private static final Pattern LITERAL_ARGUMENT =
+            Pattern.compile("\\s*(?:'([^'\\\\{}]*)'|\"([^\"\\\\{}]*)\")\\s*(,|$)");
+
+    private static final Rule DELEGATE = new Rule(0L);
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private final String rolePrefix;
+    private final ConcurrentHashMap<MethodClassKey, Rule> rules = new ConcurrentHashMap<>();
+
+    public ForwardedRoleAuthorizationManager(String rolePrefix) {
+        this.rolePrefix = rolePrefix;
+    }
+
+    /** 令牌直接持有所需权限时放行，否则返回 {@code null} 表示无法判断。 */
+    @Override
+    @Nullable
+    public AuthorizationDecision check(
+            Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Rule rule = rule(invocation);
+        if (rule != DELEGATE
+                && authentication.get() instanceof ForwardedAuthenticationToken token
+                && Boolean.TRUE.equals(token.getRoleSet().containsAny(rule.mask()))) {
+            return GRANTED;
+        }
+        return null;
+    }
+
+    /** 解析 {@code type} 上所有带 {@link PreAuthorize} 的公共方法并登记其中的权限。 */
+    public void preload(Class<?> type) {
+        boolean annotatedType = AnnotatedElementUtils.hasAnnotation(type, PreAuthorize.class);
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())
+                    || method.getDeclaringClass() == Object.class
+                    || !(annotatedType
+                            || AnnotatedElementUtils.hasAnnotation(method, PreAuthorize.class))) {
+                continue;
+            }
+            rules.computeIfAbsent(new MethodClassKey(method, type), k -> parse(method, type));
+        }
+    }
+
+    private Rule rule(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : null;
+        MethodClassKey key = new MethodClassKey(method, targetClass);
+        Rule rule = rules.get(key);
+        if (rule == null) {
+            rule = rules.computeIfAbsent(key, k -> parse(method, targetClass));
+        }
+        return rule;
+    }
+
+    private Rule parse(Method method, @Nullable Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        PreAuthorize annotation =
+                AnnotatedElementUtils.findMergedAnnotation(specificMethod, PreAuthorize.class);
+        if (annotation == null) {
+            Class<?> type = targetClass != null ? targetClass : method.getDeclaringClass();
+            annotation = AnnotatedElementUtils.findMergedAnnotation(type, PreAuthorize.class);
+        }
+        return annotation == null ? DELEGATE : parse(specificMethod, annotation.value());
+    }
+
+    private Rule parse(Method method, String expression) {
+        Matcher matcher = SIMPLE_EXPRESSION.matcher(expression);
+        if (!matcher.matches()) {
+            return DELEGATE;
+        }
+        String function = matcher.group(1);
+        List<String> arguments = literalArguments(matcher.group(2));
+        if (arguments == null) {
+            return DELEGATE;
+        }
+        boolean single = "hasRole".equals(function) || "hasAuthority".equals(function);
+        if (single && arguments.size() != 1) {
+            return DELEGATE;
+        }
+        boolean roles = function.endsWith("Role");
+        long mask = 0L;
+        for (String argument : arguments) {
+            String authority =
+                    roles && !argument.startsWith(rolePrefix) ? rolePrefix + argument : argument;
+            int ordinal = ForwardedRoleRegistry.register(authority);
+            if (ordinal < 0) {
+                log.warn(
+                        "权限登记表已满（{} 个），{} 的权限 {} 无法登记，该方法的 @PreAuthorize 始终按 SpEL 求值",
+                        ForwardedRoleRegistry.MAX_ROLES,
+                        method,
+                        authority);
+                return DELEGATE;
+            }
+            mask |= 1L << ordinal;
+        }
+        return new Rule(mask);
+    }
+
+    @Nullable
+    private static List<String> literalArguments(String source) {
+        List<String> arguments = new ArrayList<>();
+        Matcher matcher = LITERAL_ARGUMENT.matcher(source);
+        int position = 0;
+        boolean more = true;
+        while (more) {
+            if (!matcher.find(position) || matcher.start() != position) {
+                return null;
+            }
+            arguments.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+            position = matcher.end();
+            more = !matcher.group(3).isEmpty();
+        }
+        return position == source.length() ? arguments : null;
+    }
+
+    private record Rule(long mask) {}
+}
@@ -1,17 +1,28 @@
 package com.david.core.security;
 
 import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 /** 根据配置切换 {@link SecurityContextHolder} 的策略，增强异步可见性。 */
-record ForwardedSecurityContextHolderInitializer(ForwardedSecurityProperties properties)
+record ForwardedSecurityContextHolderInitializer(
+        ForwardedSecurityProperties properties,
+        @Nullable ScopedSecurityContextHolderStrategy scopedStrategy)
         implements SmartInitializingSingleton {
 
     @Override
     public void afterSingletonsInstantiated() {
-        if (properties.isInheritableSecurityContext()) {
-            SecurityContextHolder.setStrategyName(
+        switch (properties.resolveContextStrategy()) {
+            case INHERITABLE_THREAD_LOCAL -> SecurityContextHolder.setStrategyName(
                     SecurityContextHolder.MODE_INHERITABLETHREADLOCAL);
+            case SCOPED -> {
+                if (scopedStrategy != null) {
+                    SecurityContextHolder.setContextHolderStrategy(scopedStrategy);
+                }
+            }
+            case THREAD_LOCAL -> {
+                // 保持 Spring Security 默认策略
+            }
         }
     }
 }
@@ -23,12 +23,21 @@ public class ForwardedSecurityProperties {
     /** 是否允许匿名用户访问，默认开启以便授权规则自行控制。 */
     private boolean anonymousEnabled = true;
 
-    /** 是否启用 InheritableThreadLocal 策略，以兼容异步/线程池场景。 */
+    /** 是否启用 InheritableThreadLocal 策略，以兼容异步/线程池场景；配置了 contextStrategy 时以后者为准。 */
     private boolean inheritableSecurityContext = true;
 
+    /** SecurityContextHolder 策略，未配置时由 inheritableSecurityContext 决定。 */
+    private ContextStrategy contextStrategy;
+
     /** 放行路径，支持 Ant 风格匹配。 */
     private List<String> permitAll = defaultPermitAll();
 
+    /** 是否将 AppConvention 默认白名单（认证端点、actuator）一并视为放行路径。 */
+    private boolean includeDefaultWhiteList = false;
+
+    /** 放行路径上的请求是否跳过转发身份解析，开启后这些接口无法读取转发用户。 */
+    private boolean skipPublicPaths = false;
+
     /** 认证失败时返回的提示信息。 */
     private String unauthorizedMessage = "未认证的请求";
 
@@ -52,11 +61,42 @@ public class ForwardedSecurityProperties {
         this.permitAll = permitAll == null ? defaultPermitAll() : new ArrayList<>(permitAll);
     }
 
+    /** 未显式配置 contextStrategy 时，按旧开关推导。 */
+    public ContextStrategy resolveContextStrategy() {
+        if (contextStrategy != null) {
+            return contextStrategy;
+        }
+        return inheritableSecurityContext
+                ? ContextStrategy.INHERITABLE_THREAD_LOCAL
+                : ContextStrategy.THREAD_LOCAL;
+    }
+
+    public enum ContextStrategy {
+        /** Spring Security 默认的 ThreadLocal 策略。 */
+        THREAD_LOCAL,
+        /** 子线程创建时复制父线程上下文。 */
+        INHERITABLE_THREAD_LOCAL,
+        /**
+         * 作用域绑定，不继承，由 TaskDecorator/Executor 包装显式传播，适合虚拟线程。容器中没有其他
+         * {@link org.springframework.core.task.TaskDecorator} 时会注册 {@link SecurityContextPropagatingTaskDecorator}，
+         * Spring Boot 的 {@code applicationTaskExecutor} 等自动配置的执行器会改用它装饰任务；需要组合其他装饰逻辑时，
+         * 自行声明 {@code TaskDecorator} Bean 并在其中委托给 {@link SecurityContextPropagatingTaskDecorator}。
+         */
+        SCOPED
+    }
+
     @Getter
     @Setter
     public static class MethodSecurity {
 
         /** 是否启用基于注解的方法级鉴权。 */
         private boolean enabled = true;
+
+        /**
+         * 是否对仅含字面量的 {@code hasRole}/{@code hasAnyRole}/{@code hasAuthority}/{@code hasAnyAuthority}
+         * 的 {@code @PreAuthorize} 以位运算判断转发身份，跳过 SpEL 求值；仅作用于 Servlet 应用。只有放行走快速路径，
+         * 不持有所需权限（包括经 {@code RoleHierarchy} 才可达的权限）时仍由标准拦截器按 SpEL 判断。
+         */
+        private boolean fastRoleChecks = false;
     }
 }
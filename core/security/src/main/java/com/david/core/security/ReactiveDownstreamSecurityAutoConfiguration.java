@@ -0,0 +1,150 @@
+package com.david.core.security;
+
+import com.david.core.forward.ForwardedPathIndex;
+import com.david.core.forward.ForwardedSecurityAutoConfiguration;
+import com.david.core.forward.ForwardedUserWebFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DownstreamSecurityAutoConfiguration} 的 WebFlux 版本，沿用 {@code app.security.forwarded} 配置。
+ *
+ * <p>{@link ForwardedUserWebFilter} 作为普通 {@code WebFilter} 运行在安全过滤链之前，身份已写入 Reactor
+ * Context，因此这里不再把它加入 {@link SecurityWebFilterChain}。
+ */
+@AutoConfiguration(after = ForwardedSecurityAutoConfiguration.class)
+@ConditionalOnClass({SecurityWebFilterChain.class, ServerHttpSecurity.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(
+        prefix = "app.security.forwarded",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+@EnableConfigurationProperties(ForwardedSecurityProperties.class)
+public class ReactiveDownstreamSecurityAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveForwardedUserArgumentResolver reactiveForwardedUserArgumentResolver() {
+        return new ReactiveForwardedUserArgumentResolver();
+    }
+
+    @Bean
+    public WebFluxConfigurer forwardedUserWebFluxConfigurer(
+            ReactiveForwardedUserArgumentResolver resolver) {
+        return new WebFluxConfigurer() {
+            @Override
+            public void configureArgumentResolvers(@NonNull ArgumentResolverConfigurer configurer) {
+                configurer.addCustomResolver(resolver);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "forwardedErrorResponseWriter")
+    ReactiveForwardedErrorResponseWriter forwardedErrorResponseWriter(
+            ObjectProvider<ObjectMapper> objectMapperProvider) {
+        return new ReactiveForwardedErrorResponseWriter(
+                new ForwardedErrorResponseWriter(objectMapperProvider.getIfAvailable()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "forwardedAuthenticationEntryPoint")
+    ReactiveForwardedAuthenticationEntryPoint forwardedAuthenticationEntryPoint(
+            ReactiveForwardedErrorResponseWriter writer, ForwardedSecurityProperties properties) {
+        return new ReactiveForwardedAuthenticationEntryPoint(writer, properties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "forwardedAccessDeniedHandler")
+    ReactiveForwardedAccessDeniedHandler forwardedAccessDeniedHandler(
+            ReactiveForwardedErrorResponseWriter writer, ForwardedSecurityProperties properties) {
+        return new ReactiveForwardedAccessDeniedHandler(writer, properties);
+    }
+
+    /** 与 Servlet 版本相同，permitAll 路径（可选并入默认白名单）编译后的索引。 */
+    @Bean
+    @ConditionalOnMissingBean(name = "forwardedPublicPathIndex")
+    ForwardedPathIndex forwardedPublicPathIndex(ForwardedSecurityProperties properties) {
+        List<String> patterns = new ArrayList<>(properties.getPermitAll());
+        if (properties.isIncludeDefaultWhiteList()) {
+            patterns.addAll(ForwardedPathIndex.defaultWhiteListPaths());
+        }
+        return ForwardedPathIndex.of(patterns);
+    }
+
+    @Bean
+    @ConditionalOnBean(ForwardedUserWebFilter.class)
+    @ConditionalOnMissingBean(SecurityWebFilterChain.class)
+    SecurityWebFilterChain forwardedSecurityWebFilterChain(
+            ServerHttpSecurity http,
+            ForwardedSecurityProperties properties,
+            ForwardedPathIndex forwardedPublicPathIndex,
+            ForwardedUserWebFilter forwardedUserWebFilter,
+            ReactiveForwardedAccessDeniedHandler accessDeniedHandler,
+            ReactiveForwardedAuthenticationEntryPoint authenticationEntryPoint) {
+        if (properties.isSkipPublicPaths()) {
+            forwardedUserWebFilter.setPublicPaths(forwardedPublicPathIndex);
+        }
+        if (!properties.isCsrfEnabled()) {
+            http.csrf(ServerHttpSecurity.CsrfSpec::disable);
+        }
+        http.securityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        http.formLogin(ServerHttpSecurity.FormLoginSpec::disable);
+        http.httpBasic(ServerHttpSecurity.HttpBasicSpec::disable);
+        http.logout(ServerHttpSecurity.LogoutSpec::disable);
+        if (!properties.isAnonymousEnabled()) {
+            http.anonymous(ServerHttpSecurity.AnonymousSpec::disable);
+        }
+
+        http.authorizeExchange(
+                exchanges -> {
+                    if (properties.isAllowPreflight()) {
+                        exchanges.pathMatchers(HttpMethod.OPTIONS, "/**").permitAll();
+                    }
+                    exchanges
+                            .matchers(
+                                    new ForwardedPathIndexServerWebExchangeMatcher(
+                                            forwardedPublicPathIndex))
+                            .permitAll();
+                    // 与 Servlet 版本一致，默认放行所有请求，这是微服务内部的security
+                    exchanges.anyExchange().permitAll();
+                });
+        http.exceptionHandling(
+                exceptionHandling ->
+                        exceptionHandling
+                                .authenticationEntryPoint(authenticationEntryPoint)
+                                .accessDeniedHandler(accessDeniedHandler));
+        return http.build();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(
+            prefix = "app.security.forwarded.method-security",
+            name = "enabled",
+            havingValue = "true",
+            matchIfMissing = true)
+    @EnableReactiveMethodSecurity
+    static class ReactiveForwardedMethodSecurityConfiguration {}
+}
@@ -0,0 +1,20 @@
+package com.david.core.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/** WebFlux 下权限不足时返回统一格式。 */
+public record ReactiveForwardedAccessDeniedHandler(
+        ReactiveForwardedErrorResponseWriter writer, ForwardedSecurityProperties properties)
+        implements ServerAccessDeniedHandler {
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, AccessDeniedException denied) {
+        return writer.write(
+                exchange.getResponse(), HttpStatus.FORBIDDEN, properties.getAccessDeniedMessage());
+    }
+}
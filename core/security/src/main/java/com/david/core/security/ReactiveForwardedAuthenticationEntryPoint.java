@@ -0,0 +1,20 @@
+package com.david.core.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/** WebFlux 下未认证访问时返回统一的 JSON 响应。 */
+public record ReactiveForwardedAuthenticationEntryPoint(
+        ReactiveForwardedErrorResponseWriter writer, ForwardedSecurityProperties properties)
+        implements ServerAuthenticationEntryPoint {
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException ex) {
+        return writer.write(
+                exchange.getResponse(), HttpStatus.UNAUTHORIZED, properties.getUnauthorizedMessage());
+    }
+}
@@ -0,0 +1,40 @@
+package com.david.core.security;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/** 以统一格式向 WebFlux 客户端输出安全异常响应，复用 {@link ForwardedErrorResponseWriter} 的字节模板。 */
+record ReactiveForwardedErrorResponseWriter(ForwardedErrorResponseWriter writer) {
+
+    private static final MediaType APPLICATION_JSON_UTF8 =
+            new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
+    Mono<Void> write(ServerHttpResponse response, HttpStatus status, String message) {
+        if (response.isCommitted()) {
+            return Mono.empty();
+        }
+        ForwardedErrorResponseWriter.Template template = writer.template(status, message);
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(APPLICATION_JSON_UTF8);
+        if (template == ForwardedErrorResponseWriter.Template.DYNAMIC) {
+            byte[] body = writer.render(status, message);
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+        byte[] timestamp = template.timestamped() ? writer.timestamp() : null;
+        int contentLength = template.contentLength(timestamp);
+        response.getHeaders().setContentLength(contentLength);
+        DataBuffer buffer = response.bufferFactory().allocateBuffer(contentLength);
+        buffer.write(template.prefix());
+        if (timestamp != null) {
+            buffer.write(timestamp).write(template.suffix());
+        }
+        return response.writeWith(Mono.just(buffer));
+    }
+}
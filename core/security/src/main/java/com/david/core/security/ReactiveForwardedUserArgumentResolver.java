@@ -0,0 +1,37 @@
+package com.david.core.security;
+
+import com.david.core.forward.ForwardedAuthenticationToken;
+import com.david.core.forward.ForwardedUser;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/** 允许 {@link ForwardedUser} 被注入到 WebFlux 控制器中，未携带转发身份时参数为 {@code null}。 */
+public class ReactiveForwardedUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        boolean annotated = parameter.hasParameterAnnotation(CurrentForwardedUser.class);
+        boolean typeMatches = ForwardedUser.class.isAssignableFrom(parameter.getParameterType());
+        return annotated && typeMatches;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Object> resolveArgument(
+            @NonNull MethodParameter parameter,
+            @NonNull BindingContext bindingContext,
+            @NonNull ServerWebExchange exchange) {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(ForwardedAuthenticationToken.class::isInstance)
+                .map(authentication -> ((ForwardedAuthenticationToken) authentication).getPrincipal());
+    }
+}
@@ -0,0 +1,101 @@
+package com.david.core.security;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * 以作用域绑定方式持有 {@link SecurityContext} 的策略。
+ *
+ * <p>语义参照 {@code ScopedValue}：上下文不会被子线程继承，需要跨线程时由 {@link #runWhere} / {@link #callWhere}
+ * 在任务执行期间显式绑定同一个上下文引用，任务结束后恢复原绑定，不复制、也不会遗留在池化线程或虚拟线程上。
+ * 当前基线为 Java 17，绑定载体使用非继承的 {@link ThreadLocal}。
+ */
+public final class ScopedSecurityContextHolderStrategy implements SecurityContextHolderStrategy {
+
+    private static final ThreadLocal<Supplier<SecurityContext>> CONTEXT = new ThreadLocal<>();
+
+    /** 在 {@code context} 绑定期间执行任务，结束后恢复执行前的绑定。 */
+    public void runWhere(SecurityContext context, Runnable task) {
+        Supplier<SecurityContext> previous = CONTEXT.get();
+        CONTEXT.set(() -> context);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** 在 {@code context} 绑定期间执行任务并返回结果，结束后恢复执行前的绑定。 */
+    public <T> T callWhere(SecurityContext context, Callable<T> task) throws Exception {
+        Supplier<SecurityContext> previous = CONTEXT.get();
+        CONTEXT.set(() -> context);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** 返回当前线程绑定的上下文，未绑定时返回 {@code null}；与 {@link #getDeferredContext()} 不同，不会创建并绑定空上下文。 */
+    public Supplier<SecurityContext> peekDeferredContext() {
+        return CONTEXT.get();
+    }
+
+    @Override
+    public void clearContext() {
+        CONTEXT.remove();
+    }
+
+    @Override
+    public SecurityContext getContext() {
+        return getDeferredContext().get();
+    }
+
+    @Override
+    public Supplier<SecurityContext> getDeferredContext() {
+        Supplier<SecurityContext> result = CONTEXT.get();
+        if (result == null) {
+            SecurityContext context = createEmptyContext();
+            result = () -> context;
+            CONTEXT.set(result);
+        }
+        return result;
+    }
+
+    @Override
+    public void setContext(SecurityContext context) {
+        Assert.notNull(context, "Only non-null SecurityContext instances are permitted");
+        CONTEXT.set(() -> context);
+    }
+
+    @Override
+    public void setDeferredContext(Supplier<SecurityContext> deferredContext) {
+        Assert.notNull(deferredContext, "Only non-null Supplier instances are permitted");
+        Supplier<SecurityContext> notNullDeferredContext =
+                () -> {
+                    SecurityContext result = deferredContext.get();
+                    Assert.notNull(
+                            result, "A Supplier<SecurityContext> returned null and is not allowed.");
+                    return result;
+                };
+        CONTEXT.set(notNullDeferredContext);
+    }
+
+    @Override
+    public SecurityContext createEmptyContext() {
+        return new SecurityContextImpl();
+    }
+
+    private static void restore(Supplier<SecurityContext> previous) {
+        if (previous == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(previous);
+        }
+    }
+}
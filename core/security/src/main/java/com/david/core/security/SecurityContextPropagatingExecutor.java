@@ -0,0 +1,20 @@
+package com.david.core.security;
+
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Executor;
+
+/** 包装任意 {@link Executor}，使提交的任务在提交方的安全上下文中执行，适用于虚拟线程执行器。 */
+public record SecurityContextPropagatingExecutor(
+        Executor delegate, SecurityContextPropagatingTaskDecorator decorator) implements Executor {
+
+    public SecurityContextPropagatingExecutor(
+            Executor delegate, ScopedSecurityContextHolderStrategy strategy) {
+        this(delegate, new SecurityContextPropagatingTaskDecorator(strategy));
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        delegate.execute(decorator.decorate(command));
+    }
+}
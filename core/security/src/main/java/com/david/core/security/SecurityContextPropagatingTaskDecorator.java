@@ -0,0 +1,26 @@
+package com.david.core.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContext;
+
+import java.util.function.Supplier;
+
+/**
+ * 在任务提交时捕获当前 {@link SecurityContext}，执行时通过 {@link ScopedSecurityContextHolderStrategy}
+ * 绑定到工作线程，执行完毕即解除绑定。提交线程未绑定上下文时任务原样返回，不会为提交线程创建空上下文。
+ */
+public record SecurityContextPropagatingTaskDecorator(ScopedSecurityContextHolderStrategy strategy)
+        implements TaskDecorator {
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable runnable) {
+        Supplier<SecurityContext> deferredContext = strategy.peekDeferredContext();
+        if (deferredContext == null) {
+            return runnable;
+        }
+        SecurityContext context = deferredContext.get();
+        return () -> strategy.runWhere(context, runnable);
+    }
+}